@@ -1,14 +1,27 @@
 plugins {
     id("org.openrewrite.build.recipe-library") version "latest.release"
+    id("me.champeau.jmh") version "0.7.2"
+    `java-test-fixtures`
 }
 
 group = "org.openrewrite.recipe"
 description = "OpenAPI Migration"
 
-val rewriteVersion = rewriteRecipe.rewriteVersion.get()
+// Shared with the runner, so it resolves the same rewrite release as the recipes it runs
+val rewriteVersion by extra(rewriteRecipe.rewriteVersion.get())
+
+repositories {
+    // The Gradle tooling API is published only there; Maven Central has a single nightly build of it
+    maven("https://repo.gradle.org/gradle/libs-releases") {
+        content { includeGroup("org.gradle") }
+    }
+}
+
 dependencies {
     implementation(platform("org.openrewrite:rewrite-bom:$rewriteVersion"))
     implementation("org.openrewrite:rewrite-java")
+    // For configuring the dependency resolution of UpgradeSwaggerDependency
+    implementation("org.openrewrite:rewrite-maven")
     implementation("org.openrewrite.recipe:rewrite-java-dependencies:$rewriteVersion")
     testImplementation("org.slf4j:slf4j-simple:2.0.12")
 
@@ -22,5 +35,36 @@ dependencies {
     testRuntimeOnly("io.swagger:swagger-annotations:1.6.13")
     testRuntimeOnly("io.swagger.core.v3:swagger-annotations:2.2.20")
 
+    // For the Gradle build markers of UpgradeSwaggerDependencyTest, which runs Gradle through its tooling API
+    testImplementation("org.openrewrite.gradle.tooling:model:latest.release")
     testRuntimeOnly("org.gradle:gradle-tooling-api:latest.release")
+
+    jmh(testFixtures(project))
+    jmh(platform("org.openrewrite:rewrite-bom:$rewriteVersion"))
+    jmh("org.openrewrite:rewrite-java-17")
+    jmh("org.openjdk.jmh:jmh-core:latest.release")
+    jmh("org.openjdk.jmh:jmh-generator-annprocess:latest.release")
+    jmhAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:latest.release")
+    jmhRuntimeOnly("io.swagger:swagger-annotations:1.6.13")
+    jmhRuntimeOnly("io.swagger.core.v3:swagger-annotations:2.2.20")
+}
+
+jmh {
+    // Report allocation rates next to throughput, so regressions in garbage show up as well as in time
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
+
+// The synthetic corpus generator in src/testFixtures is for this build's tests and benchmarks only
+val javaComponent = components["java"] as AdhocComponentWithVariants
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesApiElements"]) { skip() }
+javaComponent.withVariantsFromConfiguration(configurations["testFixturesRuntimeElements"]) { skip() }
+
+tasks.named<Test>("test") {
+    // Lets SwaggerToOpenAPIScaleTest be pointed at larger corpora, e.g. -Dswagger.scale.files=1000,10000,100000
+    System.getProperty("swagger.scale.files")?.let { systemProperty("swagger.scale.files", it) }
+    // Lets RecipeBudgetTest margins be tightened or its measurements recorded, e.g. -Dswagger.budget.record=true
+    listOf("swagger.budget.margin", "swagger.budget.record").forEach { name ->
+        System.getProperty(name)?.let { systemProperty(name, it) }
+    }
 }
@@ -0,0 +1,43 @@
+plugins {
+    application
+}
+
+description = "Headless batch runner for the Swagger to OpenAPI migration"
+
+repositories {
+    mavenCentral()
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(17))
+    }
+}
+
+val rewriteVersion: String by rootProject.extra
+
+dependencies {
+    implementation(project(":"))
+    implementation(platform("org.openrewrite:rewrite-bom:$rewriteVersion"))
+    implementation("org.openrewrite:rewrite-java")
+    runtimeOnly("org.openrewrite:rewrite-java-17")
+    runtimeOnly("org.openrewrite.recipe:rewrite-java-dependencies:$rewriteVersion")
+
+    // Put on the parser classpath so Swagger annotations are type attributed
+    runtimeOnly("io.swagger:swagger-annotations:1.6.13")
+    runtimeOnly("io.swagger.core.v3:swagger-annotations:2.2.20")
+
+    testImplementation(testFixtures(project(":")))
+    testImplementation("org.junit.jupiter:junit-jupiter-engine:latest.release")
+    testImplementation("org.assertj:assertj-core:latest.release")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher:latest.release")
+}
+
+application {
+    mainClass.set("org.openrewrite.openapi.runner.SwaggerMigrationRunner")
+    applicationName = "swagger-migration"
+}
+
+tasks.named<Test>("test") {
+    useJUnitPlatform()
+}
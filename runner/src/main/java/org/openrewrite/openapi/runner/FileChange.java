@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.runner;
+
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The outcome of migrating a single source file, detached from its LST so a chunk's trees can be garbage
+ * collected as soon as the chunk is done.
+ */
+public final class FileChange {
+    private final Path path;
+    private final String diff;
+
+    /**
+     * The printed source file after the migration, or {@code null} if the file was deleted.
+     */
+    @Nullable
+    private final byte[] after;
+
+    FileChange(Path path, String diff, @Nullable byte[] after) {
+        this.path = path;
+        this.diff = diff;
+        this.after = after;
+    }
+
+    static FileChange of(Result result) {
+        SourceFile after = result.getAfter();
+        SourceFile before = result.getBefore();
+        Path path = after != null ? after.getSourcePath() : before.getSourcePath();
+        return new FileChange(path, result.diff(), after == null ? null : after.printAllAsBytes());
+    }
+
+    /**
+     * The path of the source file, relative to the base directory.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * The change as a unified diff.
+     */
+    public String getDiff() {
+        return diff;
+    }
+
+    public boolean isDeleted() {
+        return after == null;
+    }
+
+    @Nullable
+    byte[] getAfter() {
+        return after;
+    }
+
+    void applyTo(Path baseDir) throws IOException {
+        Path file = baseDir.resolve(path);
+        if (after == null) {
+            Files.deleteIfExists(file);
+        } else {
+            Files.createDirectories(file.getParent());
+            Files.write(file, after);
+        }
+    }
+}
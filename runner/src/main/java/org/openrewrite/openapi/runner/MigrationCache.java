@@ -0,0 +1,307 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.runner;
+
+import org.openrewrite.Recipe;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.style.Autodetect;
+import org.openrewrite.openapi.swagger.RemoveClazzRecipe;
+import org.openrewrite.style.Style;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * An on-disk record of source file contents the migration is known to leave unchanged, so a re-run only parses the
+ * files that changed since.
+ * <p>
+ * How a file is migrated depends on the types it uses as well as on its own content. Those are attributed from the
+ * classpath, which holds the compiled classes of the other sources, so a file is only known to be unchanged when neither
+ * its content nor the content of any of its {@link SourceDependencies} changed. Each record is a truncated SHA-256 over
+ * the content hashes of a file and of its dependencies, for a file that the migration left unchanged or that is the
+ * output of a migration. Dependencies further away than those are not part of the record.
+ * <p>
+ * The file starts with a header holding a hash of the recipes, the options they run with and the detected formatting
+ * style, followed by the fixed-size records. Records are only ever appended. When the header does not match the current recipes, for
+ * instance because `swagger-2.yml` or a recipe class changed, the whole file is discarded and started over.
+ */
+final class MigrationCache {
+    private static final byte[] MAGIC = {'S', 'W', 'M', 'C'};
+    private static final byte FORMAT_VERSION = 2;
+    private static final int HASH_LENGTH = 16;
+    private static final int HEADER_LENGTH = MAGIC.length + 1 + 32;
+    private static final int RECORD_LENGTH = HASH_LENGTH;
+
+    private final Path file;
+    private final SourceDependencies dependencies;
+    private final Set<ContentHash> upToDate = new HashSet<>();
+
+    /**
+     * The content hashes of the source files read so far, each read once per run.
+     */
+    private final Map<Path, ContentHash> contentHashes = new HashMap<>();
+
+    /**
+     * The files being migrated in this run and their dependencies, recorded once the run completes.
+     */
+    private final Map<Path, Set<Path>> pending = new HashMap<>();
+
+    private MigrationCache(Path file, SourceDependencies dependencies) {
+        this.file = file;
+        this.dependencies = dependencies;
+    }
+
+    static MigrationCache open(Path file, byte[] configHash, SourceDependencies dependencies) throws IOException {
+        MigrationCache cache = new MigrationCache(file, dependencies);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).put(MAGIC).put(FORMAT_VERSION).put(configHash).flip();
+        if (Files.exists(file)) {
+            byte[] content = Files.readAllBytes(file);
+            if (content.length >= HEADER_LENGTH && ByteBuffer.wrap(content, 0, HEADER_LENGTH).equals(header.duplicate())) {
+                // A trailing partial record, from a run that did not complete, is ignored
+                for (int offset = HEADER_LENGTH; offset + RECORD_LENGTH <= content.length; offset += RECORD_LENGTH) {
+                    cache.upToDate.add(new ContentHash(Arrays.copyOfRange(content, offset, offset + RECORD_LENGTH)));
+                }
+                if ((content.length - HEADER_LENGTH) % RECORD_LENGTH != 0) {
+                    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                        channel.truncate(content.length - (content.length - HEADER_LENGTH) % RECORD_LENGTH);
+                    }
+                }
+                return cache;
+            }
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(header);
+        }
+        return cache;
+    }
+
+    /**
+     * @return the files whose current content, or the content of one of their dependencies, is not known to be left
+     * unchanged, in the same order.
+     */
+    List<Path> notUpToDate(List<Path> files) {
+        List<Path> notUpToDate = new ArrayList<>(files.size());
+        for (Path file : files) {
+            byte[] content = read(file);
+            contentHashes.put(file, ContentHash.of(content));
+            Set<Path> fileDependencies = dependencies.of(file, new String(content, StandardCharsets.UTF_8));
+            if (!upToDate.contains(record(file, fileDependencies, this::contentHash))) {
+                pending.put(file, fileDependencies);
+                notUpToDate.add(file);
+            }
+        }
+        return notUpToDate;
+    }
+
+    /**
+     * Appends a record for every file of this run that the migration left unchanged, and for the output of every
+     * file it changed. Both are recorded against the content of their dependencies after the migration.
+     *
+     * @param failed files that failed to parse or migrate, which are not recorded.
+     */
+    void update(Path baseDir, List<FileChange> changes, Set<Path> failed) throws IOException {
+        Map<Path, ContentHash> after = new HashMap<>();
+        Map<Path, byte[]> migrated = new HashMap<>();
+        for (FileChange change : changes) {
+            Path path = baseDir.resolve(change.getPath());
+            // A deleted file is no longer a dependency of any other
+            after.put(path, change.getAfter() == null ? null : ContentHash.of(change.getAfter()));
+            if (change.getAfter() != null) {
+                migrated.put(path, change.getAfter());
+            }
+        }
+        Function<Path, @Nullable ContentHash> contentHashAfter = path -> after.containsKey(path) ? after.get(path) : contentHash(path);
+
+        List<ContentHash> records = new ArrayList<>(pending.size() + migrated.size());
+        for (Map.Entry<Path, Set<Path>> unchanged : pending.entrySet()) {
+            if (!after.containsKey(unchanged.getKey()) && !failed.contains(unchanged.getKey())) {
+                records.add(record(unchanged.getKey(), unchanged.getValue(), contentHashAfter));
+            }
+        }
+        for (Map.Entry<Path, byte[]> output : migrated.entrySet()) {
+            Set<Path> outputDependencies = dependencies.of(output.getKey(), new String(output.getValue(), StandardCharsets.UTF_8));
+            records.add(record(output.getKey(), outputDependencies, contentHashAfter));
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(records.size() * RECORD_LENGTH);
+        for (ContentHash record : records) {
+            buffer.put(record.bytes);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        upToDate.addAll(records);
+        pending.clear();
+    }
+
+    /**
+     * A hash of the content of the file and of its dependencies, in path order. Dependencies without content, like
+     * deleted files, are left out.
+     */
+    private static ContentHash record(Path file, Set<Path> dependencies, Function<Path, @Nullable ContentHash> contentHash) {
+        MessageDigest digest = sha256();
+        digest.update(contentHash.apply(file).bytes);
+        for (Path dependency : dependencies) {
+            ContentHash dependencyHash = dependency.equals(file) ? null : contentHash.apply(dependency);
+            if (dependencyHash != null) {
+                digest.update(dependencyHash.bytes);
+            }
+        }
+        return new ContentHash(Arrays.copyOf(digest.digest(), HASH_LENGTH));
+    }
+
+    private @Nullable ContentHash contentHash(Path file) {
+        // A dependency deleted since the source files were listed has no content
+        return contentHashes.computeIfAbsent(file, f -> Files.isRegularFile(f) ? ContentHash.of(read(f)) : null);
+    }
+
+    /**
+     * A hash of everything besides a file's own content that decides how it is migrated: the recipe classes and
+     * declarative recipes of this module, the versions of OpenRewrite and its Java parser, the runner options and the
+     * formatting style detected for the run.
+     */
+    static byte[] configHash(RunnerOptions options, Autodetect style) {
+        MessageDigest digest = sha256();
+        digest.update(FORMAT_VERSION);
+        hashLocation(digest, RemoveClazzRecipe.class.getProtectionDomain().getCodeSource().getLocation(), true);
+        URL declarativeRecipes = RemoveClazzRecipe.class.getResource("/META-INF/rewrite/swagger-2.yml");
+        if (declarativeRecipes != null) {
+            hashLocation(digest, declarativeRecipes, true);
+        }
+        // Jars of released versions are named after their version, so their names are enough
+        hashLocation(digest, Recipe.class.getProtectionDomain().getCodeSource().getLocation(), false);
+        hashLocation(digest, JavaParser.fromJavaVersion().getClass().getProtectionDomain().getCodeSource().getLocation(), false);
+        for (String removedPackage : options.getRemovedPackages()) {
+            digest.update(removedPackage.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        for (Path classpathEntry : options.getClasspath()) {
+            digest.update(classpathEntry.toString().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        // Which files are parsed and migrated together is not meant to change the changes, but a cache written by a
+        // run that split the files differently is not reused all the same
+        digest.update(ByteBuffer.allocate(2 * Integer.BYTES + 2)
+                .putInt(options.getChunkSize())
+                .putInt(options.getShardSize())
+                .put((byte) (options.isShardByModule() ? 1 : 0))
+                .put((byte) (options.isPrefilter() ? 1 : 0))
+                .array());
+        List<String> styles = new ArrayList<>();
+        for (Style s : style.getStyles()) {
+            styles.add(s.toString());
+        }
+        Collections.sort(styles);
+        for (String s : styles) {
+            digest.update(s.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return digest.digest();
+    }
+
+    private static void hashLocation(MessageDigest digest, URL location, boolean content) {
+        digest.update(location.toString().getBytes(StandardCharsets.UTF_8));
+        if (!content) {
+            return;
+        }
+        try {
+            if (!"file".equals(location.getProtocol())) {
+                try (InputStream in = location.openStream()) {
+                    digest.update(in.readAllBytes());
+                }
+                return;
+            }
+            Path path = Paths.get(location.toURI());
+            if (Files.isDirectory(path)) {
+                // Classes of a build directory, rather than a jar
+                try (Stream<Path> walk = Files.walk(path)) {
+                    for (Path file : walk.filter(Files::isRegularFile).sorted().toList()) {
+                        digest.update(path.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                        digest.update(Files.readAllBytes(file));
+                    }
+                }
+            } else {
+                digest.update(Files.readAllBytes(path));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] read(Path file) {
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record ContentHash(byte[] bytes) {
+        static ContentHash of(byte[] content) {
+            return new ContentHash(Arrays.copyOf(sha256().digest(content), HASH_LENGTH));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ContentHash && Arrays.equals(bytes, ((ContentHash) o).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(bytes);
+        }
+    }
+}
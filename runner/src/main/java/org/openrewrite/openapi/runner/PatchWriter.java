@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.runner;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Writes every {@link FileChange} to a patch, and optionally a line of statistics to a tab-separated report, as
+ * soon as it is handed over, so the output of a long run can be reviewed while the run is still going.
+ * <p>
+ * Both outputs are only ever appended to. The text is encoded into a reusable buffer, which is written out to
+ * the channel when it fills up and at the end of every file, so no more than one file's diff is held in memory
+ * on top of the buffer.
+ */
+public final class PatchWriter implements Consumer<FileChange>, Closeable {
+    static final String REPORT_HEADER = "path\tstatus\tadded\tremoved\n";
+
+    private final Output patch;
+
+    @Nullable
+    private final Output report;
+
+    PatchWriter(WritableByteChannel patch, @Nullable WritableByteChannel report) throws IOException {
+        this.patch = new Output(patch);
+        this.report = report == null ? null : new Output(report);
+        if (this.report != null) {
+            this.report.write(REPORT_HEADER);
+            this.report.flush();
+        }
+    }
+
+    /**
+     * @param patch  the file to write the patch to, or {@code null} for standard output.
+     * @param report the file to write the report to, or {@code null} for no report.
+     */
+    public static PatchWriter open(@Nullable Path patch, @Nullable Path report) throws IOException {
+        WritableByteChannel patchChannel = patch == null ? Channels.newChannel(System.out) : open(patch);
+        try {
+            return new PatchWriter(patchChannel, report == null ? null : open(report));
+        } catch (IOException e) {
+            patchChannel.close();
+            throw e;
+        }
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Appends the diff of a changed file to the patch, and its statistics to the report. A deleted file's diff
+     * removes all of its lines, and it is marked as {@code deleted} in the report.
+     */
+    @Override
+    public void accept(FileChange change) {
+        try {
+            String diff = change.getDiff();
+            patch.write(diff);
+            patch.flush();
+            if (report != null) {
+                int added = 0;
+                int removed = 0;
+                // The "---" and "+++" lines are only headers before a file's first hunk; inside a hunk they are
+                // changed lines that happen to start with "--" or "++", like a removed "--i;".
+                boolean inHunk = false;
+                for (int start = 0; start < diff.length(); ) {
+                    int end = diff.indexOf('\n', start);
+                    end = end < 0 ? diff.length() : end;
+                    if (diff.startsWith("diff ", start)) {
+                        inHunk = false;
+                    } else if (diff.startsWith("@@", start)) {
+                        inHunk = true;
+                    } else if (inHunk && diff.startsWith("+", start)) {
+                        added++;
+                    } else if (inHunk && diff.startsWith("-", start)) {
+                        removed++;
+                    }
+                    start = end + 1;
+                }
+                report.write(change.getPath() + "\t" + (change.isDeleted() ? "deleted" : "modified") + "\t" +
+                             added + "\t" + removed + "\n");
+                report.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            patch.close();
+        } finally {
+            if (report != null) {
+                report.close();
+            }
+        }
+    }
+
+    private static class Output {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        Output(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void write(String text) throws IOException {
+            CharBuffer chars = CharBuffer.wrap(text);
+            encoder.reset();
+            while (encoder.encode(chars, buffer, true).isOverflow()) {
+                drain();
+            }
+            while (encoder.flush(buffer).isOverflow()) {
+                drain();
+            }
+        }
+
+        void flush() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
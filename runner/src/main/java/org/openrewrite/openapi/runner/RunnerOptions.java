@@ -0,0 +1,316 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.runner;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Options of a {@link SwaggerMigrationRunner}, either set fluently or parsed from the command line.
+ */
+public class RunnerOptions {
+    static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: swagger-migration [options] <source directory>...",
+            "",
+            "Options:",
+            "  --base-dir <dir>      directory the paths in diffs are relative to (default: current directory)",
+            "  --classpath <path>    classpath entries to attribute the types of other packages from, e.g. the project's",
+            "                        compiled classes and dependencies",
+            "  --parallelism <n>     number of threads of the fork-join pool (default: available processors)",
+            "  --virtual-threads     run each chunk on its own virtual thread instead (Java 21 or later)",
+            "  --chunk-size <n>      number of source files migrated together, without splitting a directory (default: 200)",
+            "  --shard-size <n>      migrate and write out at most n source files at a time, to bound memory use",
+            "  --shard-by-module     migrate and write out one Gradle or Maven module at a time",
+            "  --remove-package <re> also delete classes importing a package matching the regular expression",
+            "  --no-prefilter        parse every source file, not only those mentioning Swagger or a removed package",
+            "  --cache <file>        remember which file contents need no migration, and skip them on later runs",
+            "  --in-place            write changes back to the source files instead of printing a diff",
+            "  --output <file>       write the diff to a file instead of standard output",
+            "  --report <file>       also write the lines added and removed per changed file, as tab-separated values");
+
+    /**
+     * Orders files by directory and then by name, so the files of a directory are next to each other.
+     */
+    static final Comparator<Path> SOURCE_ORDER = Comparator.comparing(Path::getParent, Comparator.nullsFirst(Comparator.<Path>naturalOrder()))
+            .thenComparing(Path::getFileName);
+
+    private Path baseDir = Paths.get("").toAbsolutePath();
+    private final List<Path> sourceDirectories = new ArrayList<>();
+    private final List<Path> classpath = new ArrayList<>();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean virtualThreads;
+    private int chunkSize = 200;
+    private int shardSize;
+    private boolean shardByModule;
+    private final List<String> removedPackages = new ArrayList<>();
+    private boolean prefilter = true;
+    private boolean inPlace;
+
+    @Nullable
+    private Path output;
+
+    @Nullable
+    private Path cache;
+
+    @Nullable
+    private Path report;
+
+    public static RunnerOptions parse(String... args) {
+        RunnerOptions options = new RunnerOptions();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--base-dir":
+                    options.baseDir(Paths.get(value(args, ++i, arg)));
+                    break;
+                case "--classpath":
+                    for (String entry : value(args, ++i, arg).split(File.pathSeparator)) {
+                        if (!entry.isEmpty()) {
+                            options.classpath.add(Paths.get(entry));
+                        }
+                    }
+                    break;
+                case "--parallelism":
+                    options.parallelism(positive(value(args, ++i, arg), arg));
+                    break;
+                case "--virtual-threads":
+                    options.virtualThreads(true);
+                    break;
+                case "--chunk-size":
+                    options.chunkSize(positive(value(args, ++i, arg), arg));
+                    break;
+                case "--shard-size":
+                    options.shardSize(positive(value(args, ++i, arg), arg));
+                    break;
+                case "--shard-by-module":
+                    options.shardByModule(true);
+                    break;
+                case "--remove-package":
+                    options.removePackage(value(args, ++i, arg));
+                    break;
+                case "--no-prefilter":
+                    options.prefilter(false);
+                    break;
+                case "--cache":
+                    options.cache(Paths.get(value(args, ++i, arg)));
+                    break;
+                case "--in-place":
+                    options.inPlace(true);
+                    break;
+                case "--output":
+                    options.output(Paths.get(value(args, ++i, arg)));
+                    break;
+                case "--report":
+                    options.report(Paths.get(value(args, ++i, arg)));
+                    break;
+                default:
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                    }
+                    options.sourceDirectory(Paths.get(arg));
+            }
+        }
+        if (options.sourceDirectories.isEmpty()) {
+            throw new IllegalArgumentException("At least one source directory is required");
+        }
+        if (options.inPlace && (options.output != null || options.report != null)) {
+            throw new IllegalArgumentException("--in-place cannot be combined with --output or --report");
+        }
+        return options;
+    }
+
+    private static String value(String[] args, int i, String option) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(option + " requires a value");
+        }
+        return args[i];
+    }
+
+    private static int positive(String value, String option) {
+        try {
+            int n = Integer.parseInt(value);
+            if (n > 0) {
+                return n;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException(option + " must be a positive number, was " + value);
+    }
+
+    public RunnerOptions baseDir(Path baseDir) {
+        this.baseDir = baseDir.toAbsolutePath().normalize();
+        return this;
+    }
+
+    public RunnerOptions sourceDirectory(Path sourceDirectory) {
+        this.sourceDirectories.add(sourceDirectory);
+        return this;
+    }
+
+    public RunnerOptions classpathEntry(Path classpathEntry) {
+        this.classpath.add(classpathEntry);
+        return this;
+    }
+
+    public RunnerOptions parallelism(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    public RunnerOptions virtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    public RunnerOptions chunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Limits the number of source files whose trees and changes are held in memory at once. Each shard is
+     * migrated, and its changes handed on, before the next one is parsed. Zero, the default, means one shard.
+     */
+    public RunnerOptions shardSize(int shardSize) {
+        this.shardSize = shardSize;
+        return this;
+    }
+
+    /**
+     * Migrates the source files of each Gradle or Maven module as a shard of its own, split further by the
+     * {@link #shardSize(int) shard size} if set.
+     */
+    public RunnerOptions shardByModule(boolean shardByModule) {
+        this.shardByModule = shardByModule;
+        return this;
+    }
+
+    /**
+     * Adds a package pattern to a {@code RemoveClazzRecipe} that runs before the migration.
+     */
+    public RunnerOptions removePackage(String packagePattern) {
+        this.removedPackages.add(packagePattern);
+        return this;
+    }
+
+    public RunnerOptions prefilter(boolean prefilter) {
+        this.prefilter = prefilter;
+        return this;
+    }
+
+    public RunnerOptions inPlace(boolean inPlace) {
+        this.inPlace = inPlace;
+        return this;
+    }
+
+    public RunnerOptions output(@Nullable Path output) {
+        this.output = output;
+        return this;
+    }
+
+    public RunnerOptions report(@Nullable Path report) {
+        this.report = report;
+        return this;
+    }
+
+    public RunnerOptions cache(@Nullable Path cache) {
+        this.cache = cache;
+        return this;
+    }
+
+    public Path getBaseDir() {
+        return baseDir;
+    }
+
+    public List<Path> getClasspath() {
+        return classpath;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getShardSize() {
+        return shardSize;
+    }
+
+    public boolean isShardByModule() {
+        return shardByModule;
+    }
+
+    public List<String> getRemovedPackages() {
+        return removedPackages;
+    }
+
+    public boolean isPrefilter() {
+        return prefilter;
+    }
+
+    public boolean isInPlace() {
+        return inPlace;
+    }
+
+    public @Nullable Path getOutput() {
+        return output;
+    }
+
+    public @Nullable Path getReport() {
+        return report;
+    }
+
+    public @Nullable Path getCache() {
+        return cache;
+    }
+
+    /**
+     * All Java source files under the source directories, in {@link #SOURCE_ORDER}, so the same files always end up
+     * in the same chunks whatever the parallelism.
+     */
+    List<Path> javaSourceFiles() {
+        List<Path> files = new ArrayList<>();
+        for (Path directory : sourceDirectories()) {
+            try (Stream<Path> walk = Files.walk(directory)) {
+                walk.filter(path -> path.toString().endsWith(".java") && Files.isRegularFile(path))
+                        .forEach(files::add);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return files.stream().distinct().sorted(SOURCE_ORDER).toList();
+    }
+
+    List<Path> sourceDirectories() {
+        return sourceDirectories.stream().map(directory -> baseDir.resolve(directory).normalize()).toList();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.runner;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The source files a source file may need to be type attributed: the other files of its package, and the files of
+ * the types and packages it imports. That is one level of dependencies, told from the paths of the files and the
+ * import statements of their source, without parsing anything.
+ */
+final class SourceDependencies {
+    private static final Pattern IMPORT = Pattern.compile("^\\s*import\\s+(static\\s+)?([\\w.]+?)(\\.\\*)?\\s*;", Pattern.MULTILINE);
+
+    private final List<Path> sourceDirectories;
+    private final Map<String, Path> filesByType = new HashMap<>();
+    private final Map<String, List<Path>> filesByPackage = new HashMap<>();
+
+    /**
+     * @param files             all source files.
+     * @param sourceDirectories the directories the files were found in, used to tell the types they declare.
+     */
+    SourceDependencies(List<Path> files, List<Path> sourceDirectories) {
+        this.sourceDirectories = sourceDirectories;
+        for (Path file : files) {
+            String type = typeName(file);
+            if (type != null) {
+                filesByType.put(type, file);
+                filesByPackage.computeIfAbsent(packageName(type), p -> new ArrayList<>()).add(file);
+            }
+        }
+    }
+
+    /**
+     * @param source the content of the file.
+     * @return the dependencies of the file, in path order, including the file itself when it is in a source directory.
+     */
+    Set<Path> of(Path file, CharSequence source) {
+        Set<Path> dependencies = new TreeSet<>();
+        String type = typeName(file);
+        if (type != null) {
+            dependencies.addAll(filesByPackage.get(packageName(type)));
+        }
+        for (String imported : imports(source)) {
+            Path importedFile = filesByType.get(imported);
+            if (importedFile != null) {
+                dependencies.add(importedFile);
+            } else {
+                dependencies.addAll(filesByPackage.getOrDefault(imported, Collections.emptyList()));
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * The types and packages imported by a source file.
+     */
+    private static Set<String> imports(CharSequence source) {
+        Set<String> imports = new LinkedHashSet<>();
+        Matcher matcher = IMPORT.matcher(source);
+        while (matcher.find()) {
+            String name = matcher.group(2);
+            if (matcher.group(1) != null && matcher.group(3) == null) {
+                // `import static a.b.C.member;` depends on the type `a.b.C`
+                name = packageName(name);
+            }
+            imports.add(name);
+        }
+        return imports;
+    }
+
+    private @Nullable String typeName(Path file) {
+        for (Path sourceDirectory : sourceDirectories) {
+            if (file.startsWith(sourceDirectory)) {
+                String relative = sourceDirectory.relativize(file).toString();
+                return relative.substring(0, relative.length() - ".java".length())
+                        .replace(file.getFileSystem().getSeparator(), ".");
+            }
+        }
+        return null;
+    }
+
+    private static String packageName(String typeName) {
+        int lastDot = typeName.lastIndexOf('.');
+        return lastDot < 0 ? "" : typeName.substring(0, lastDot);
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.runner;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Selects the source files worth parsing by scanning their raw bytes, before any of them is parsed.
+ * <p>
+ * A file is selected when it mentions `io.swagger`, `springfox`, or the literal prefix of one of the package patterns
+ * of {@code RemoveClazzRecipe}; none of the recipes can change a file that mentions none of these. Every file is read
+ * into the same heap buffer, which only grows for a file larger than any before it, so scanning the sources that are
+ * not selected allocates next to nothing and leaves no file mapped or open.
+ * <p>
+ * The files a selected file depends on are not selected for it. The runner parses the other files of its directory
+ * along with it, and takes the types of other packages from the classpath, whether or not their sources are selected.
+ */
+final class SourcePrefilter {
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final byte[][] needles;
+
+    /**
+     * @param removedPackagePatterns the package patterns of {@code RemoveClazzRecipe}.
+     * @return a prefilter, or {@code null} if a pattern has no literal prefix and every file has to be parsed.
+     */
+    static @Nullable SourcePrefilter of(List<String> removedPackagePatterns) {
+        List<String> needles = new ArrayList<>();
+        needles.add("io.swagger");
+        needles.add("springfox");
+        for (String pattern : removedPackagePatterns) {
+            String prefix = literalPrefix(pattern);
+            if (prefix.isEmpty()) {
+                return null;
+            }
+            needles.add(prefix);
+        }
+        return new SourcePrefilter(needles);
+    }
+
+    private SourcePrefilter(List<String> needles) {
+        this.needles = new byte[needles.size()][];
+        for (int i = 0; i < needles.size(); i++) {
+            this.needles[i] = needles.get(i).getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    /**
+     * The longest literal text every package matching the regular expression starts with, e.g. `springfox.documentation`
+     * for `springfox\.documentation(\..+)?`.
+     */
+    static String literalPrefix(String pattern) {
+        if (pattern.indexOf('|') >= 0) {
+            return "";
+        }
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\\' && i + 1 < pattern.length() && pattern.charAt(i + 1) == '.') {
+                prefix.append('.');
+                i++;
+            } else if (Character.isLetterOrDigit(c) || c == '_') {
+                prefix.append(c);
+            } else {
+                // A quantifier that allows zero occurrences makes the preceding character optional
+                if ((c == '?' || c == '*' || c == '{') && prefix.length() > 0) {
+                    prefix.setLength(prefix.length() - 1);
+                }
+                break;
+            }
+        }
+        return prefix.toString();
+    }
+
+    /**
+     * @param files all source files, in path order.
+     * @return the selected files, in path order.
+     */
+    List<Path> select(List<Path> files) {
+        List<Path> selected = new ArrayList<>();
+        ByteBuffer source = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        for (Path file : files) {
+            source = read(file, source);
+            if (mentionsAny(source)) {
+                selected.add(file);
+            }
+        }
+        return selected;
+    }
+
+    boolean mentionsAny(ByteBuffer source) {
+        int limit = source.limit();
+        for (int i = 0; i < limit; i++) {
+            byte b = source.get(i);
+            for (byte[] needle : needles) {
+                if (b == needle[0] && startsWith(source, i, needle)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWith(ByteBuffer source, int offset, byte[] needle) {
+        if (offset + needle.length > source.limit()) {
+            return false;
+        }
+        for (int j = 1; j < needle.length; j++) {
+            if (source.get(offset + j) != needle[j]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads the whole file into the buffer, or into a larger one if it does not fit.
+     *
+     * @return the buffer holding the file, ready to be read from.
+     */
+    private static ByteBuffer read(Path file, ByteBuffer buffer) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int size = Math.toIntExact(channel.size());
+            ByteBuffer source = size > buffer.capacity() ? ByteBuffer.allocate(size) : buffer;
+            source.clear().limit(size);
+            while (source.hasRemaining() && channel.read(source) >= 0) {
+                // A single read may return fewer bytes than requested
+            }
+            source.flip();
+            return source;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
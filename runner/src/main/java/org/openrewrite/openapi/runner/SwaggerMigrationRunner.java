@@ -0,0 +1,388 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.runner;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.config.CompositeRecipe;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.style.Autodetect;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.openapi.swagger.RemoveClazzRecipe;
+import org.openrewrite.openapi.swagger.SwaggerRecipes;
+import org.openrewrite.style.NamedStyles;
+import org.openrewrite.tree.ParseError;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs {@code SwaggerToOpenAPI} over the Java sources of one or more directories, without a build tool.
+ * <p>
+ * The sources are split into chunks of about a fixed number of files, in the order of
+ * {@link RunnerOptions#javaSourceFiles()}, and every chunk is parsed and migrated independently on a fork-join pool or on
+ * virtual threads. Unless disabled, a {@link SourcePrefilter} first leaves out the directories with no file that can
+ * change, so they are never parsed, and a {@link MigrationCache} leaves out the directories whose files are all known to
+ * need no migration from an earlier run.
+ * <p>
+ * The changes do not depend on which files share a chunk, so they are the same whatever the chunk size, the number of
+ * threads, the prefilter or the cache. The files of a directory, which make up a package, are always parsed together
+ * and by a parser of their own, since javac attributes a file against every source it parsed before. A type of another
+ * package is therefore only attributed when it is on the {@link RunnerOptions#classpathEntry(Path) classpath}, e.g. as
+ * the project's compiled classes. The formatting style is detected once per run, from a sample of the files to
+ * migrate, and handed to every chunk.
+ * <p>
+ * For repositories too large to hold all of their trees in memory, the sources can be migrated in
+ * {@link RunnerOptions#shardSize(int) shards} of a bounded number of files, or one
+ * {@link RunnerOptions#shardByModule(boolean) module} at a time. The changes of each shard are written out as soon as
+ * it is done, so memory use stays about the same however large the repository is.
+ */
+public class SwaggerMigrationRunner {
+    private static final List<String> BUILD_FILES = List.of("build.gradle", "build.gradle.kts", "pom.xml");
+
+    /**
+     * The number of source files the formatting style is detected from, as in {@code ConvertApiResponseContainerToContent}.
+     */
+    private static final int STYLE_SAMPLES = 500;
+
+    private final RunnerOptions options;
+    private final Recipe recipe;
+    private final List<Path> classpath;
+
+    public SwaggerMigrationRunner(RunnerOptions options) {
+        this.options = options;
+        // Built directly rather than loaded from YAML, which takes a noticeable part of a small run
+        Recipe migration = SwaggerRecipes.swaggerToOpenAPI();
+        this.recipe = options.getRemovedPackages().isEmpty() ? migration :
+                new CompositeRecipe(List.of(new RemoveClazzRecipe(options.getRemovedPackages()), migration));
+        this.classpath = new ArrayList<>(JavaParser.dependenciesFromClasspath("swagger-annotations-1.+", "swagger-annotations-2.+"));
+        this.classpath.addAll(options.getClasspath());
+    }
+
+    public static void main(String[] args) {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.println(RunnerOptions.USAGE);
+            return;
+        }
+        RunnerOptions options;
+        try {
+            options = RunnerOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(RunnerOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        long start = System.nanoTime();
+        SwaggerMigrationRunner runner = new SwaggerMigrationRunner(options);
+        AtomicInteger changed = new AtomicInteger();
+        List<Path> deleted;
+        try {
+            if (options.isInPlace()) {
+                deleted = runner.run(change -> {
+                    try {
+                        change.applyTo(options.getBaseDir());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    changed.incrementAndGet();
+                });
+            } else {
+                try (PatchWriter writer = PatchWriter.open(options.getOutput(), options.getReport())) {
+                    deleted = runner.run(change -> {
+                        writer.accept(change);
+                        changed.incrementAndGet();
+                    });
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.err.printf("Changed %d files, of which %d deleted, in %d ms%n", changed.get(), deleted.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        for (Path path : deleted) {
+            System.err.println("Deleted " + path);
+        }
+    }
+
+    /**
+     * Migrates all source files and returns the changes, in the order of the source files unless
+     * {@link RunnerOptions#shardByModule(boolean) sharded by module}.
+     */
+    public List<FileChange> run() {
+        List<FileChange> changes = new ArrayList<>();
+        run(changes::add);
+        return changes;
+    }
+
+    /**
+     * Migrates all source files one shard at a time, and hands the changes to the sink, in order, as soon as
+     * the chunk they belong to and all the chunks before it are done. Neither the trees nor the changes of a chunk
+     * are held on to after that, so memory use depends on the size of a shard rather than on the number of source
+     * files.
+     *
+     * @return the paths of the deleted source files, relative to the base directory.
+     */
+    public List<Path> run(Consumer<FileChange> sink) {
+        List<Path> sourceFiles = options.javaSourceFiles();
+        SourceDependencies dependencies = new SourceDependencies(sourceFiles, options.sourceDirectories());
+        List<Path> files = sourceFilesToParse(sourceFiles);
+        Autodetect style = detectStyle(files);
+        MigrationCache cache = openCache(dependencies, style);
+        List<Path> deleted = new ArrayList<>();
+        ExecutorService executor = options.isVirtualThreads() ? virtualThreadExecutor() : new ForkJoinPool(options.getParallelism());
+        try {
+            for (List<Path> shard : shards(files)) {
+                if (cache != null) {
+                    // The files of a directory are parsed together, whether or not they are up-to-date
+                    shard = wholeDirectories(cache.notUpToDate(shard), shard);
+                }
+                Set<Path> failed = ConcurrentHashMap.newKeySet();
+                // Only the cache needs the changes of the whole shard
+                List<FileChange> changes = cache == null ? null : new ArrayList<>();
+                migrate(executor, shard, style, failed, change -> {
+                    if (change.isDeleted()) {
+                        deleted.add(change.getPath());
+                    }
+                    if (changes != null) {
+                        changes.add(change);
+                    }
+                    sink.accept(change);
+                });
+                if (cache != null) {
+                    cache.update(options.getBaseDir(), changes, failed);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return deleted;
+    }
+
+    private void migrate(ExecutorService executor, List<Path> shard, Autodetect style, Set<Path> failed, Consumer<FileChange> sink) {
+        List<List<Path>> chunks = byDirectory(shard, options.getChunkSize());
+        try {
+            List<Future<List<FileChange>>> migrated = new ArrayList<>(chunks.size());
+            for (List<Path> chunk : chunks) {
+                migrated.add(executor.submit(() -> migrate(chunk, style, failed)));
+            }
+            // Chunks are contiguous ranges of the ordered files, so handing them on in order keeps the changes in order
+            for (int i = 0; i < migrated.size(); i++) {
+                migrated.get(i).get().forEach(sink);
+                migrated.set(i, null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while migrating", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to migrate", e.getCause());
+        }
+    }
+
+    /**
+     * Splits the source files into the shards that are migrated one after the other: a single shard, or one per
+     * module, each split further into shards of about the shard size, without splitting a directory.
+     */
+    List<List<Path>> shards(List<Path> files) {
+        List<List<Path>> modules = options.isShardByModule() ? byModule(files) : List.of(files);
+        if (options.getShardSize() == 0) {
+            return modules;
+        }
+        List<List<Path>> shards = new ArrayList<>();
+        for (List<Path> module : modules) {
+            shards.addAll(byDirectory(module, options.getShardSize()));
+        }
+        return shards;
+    }
+
+    /**
+     * Groups the source files by the nearest directory above them with a Gradle or Maven build file. Files outside
+     * of any module are grouped together.
+     */
+    static List<List<Path>> byModule(List<Path> files) {
+        Map<Path, Path> moduleOfDirectory = new HashMap<>();
+        Map<Path, List<Path>> modules = new TreeMap<>();
+        for (Path file : files) {
+            modules.computeIfAbsent(module(file.toAbsolutePath().getParent(), moduleOfDirectory), module -> new ArrayList<>()).add(file);
+        }
+        return new ArrayList<>(modules.values());
+    }
+
+    private static Path module(Path directory, Map<Path, Path> moduleOfDirectory) {
+        Path module = moduleOfDirectory.get(directory);
+        if (module == null) {
+            Path parent = directory.getParent();
+            module = parent == null || BUILD_FILES.stream().anyMatch(buildFile -> Files.isRegularFile(directory.resolve(buildFile))) ?
+                    directory : module(parent, moduleOfDirectory);
+            moduleOfDirectory.put(directory, module);
+        }
+        return module;
+    }
+
+    List<Path> sourceFilesToParse(List<Path> files) {
+        SourcePrefilter prefilter = options.isPrefilter() ? SourcePrefilter.of(options.getRemovedPackages()) : null;
+        if (prefilter == null) {
+            return files;
+        }
+        List<Path> selected = wholeDirectories(prefilter.select(files), files);
+        System.err.printf("Parsing %d of %d source files%n", selected.size(), files.size());
+        return selected;
+    }
+
+    /**
+     * Detects the formatting style from up to {@link #STYLE_SAMPLES} of the files, spread evenly over them, so the
+     * content inserted into them is formatted alike in every chunk. The files are the same whether or not some of them
+     * are skipped by the cache, so the style is too.
+     */
+    Autodetect detectStyle(List<Path> files) {
+        int samples = Math.min(files.size(), STYLE_SAMPLES);
+        List<Path> sampled = new ArrayList<>(samples);
+        for (int i = 0; i < samples; i++) {
+            sampled.add(files.get((int) ((long) i * files.size() / samples)));
+        }
+        // Only the formatting of the samples matters, not how their types are attributed
+        Autodetect.Detector detector = Autodetect.detector();
+        parser(List.of()).parse(sampled, options.getBaseDir(), new InMemoryExecutionContext(Throwable::printStackTrace))
+                .filter(JavaSourceFile.class::isInstance)
+                .forEach(sourceFile -> detector.sample((JavaSourceFile) sourceFile));
+        return detector.build();
+    }
+
+    private @Nullable MigrationCache openCache(SourceDependencies dependencies, Autodetect style) {
+        if (options.getCache() == null) {
+            return null;
+        }
+        try {
+            return MigrationCache.open(options.getBaseDir().resolve(options.getCache()), MigrationCache.configHash(options, style),
+                    dependencies);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param failed collects the files that failed to parse or migrate, so they are not cached as unchanged.
+     */
+    List<FileChange> migrate(List<Path> chunk, Autodetect style, Set<Path> failed) {
+        ExecutionContext ctx = new InMemoryExecutionContext(t -> {
+            t.printStackTrace();
+            failed.addAll(chunk);
+        });
+        List<SourceFile> sourceFiles = new ArrayList<>(chunk.size());
+        for (List<Path> directory : byDirectory(chunk, 1)) {
+            // A parser attributes against every source it parsed before, so each directory gets a parser of its own
+            parser(List.of(style)).parse(directory, options.getBaseDir(), ctx).forEach(sourceFiles::add);
+        }
+        for (SourceFile sourceFile : sourceFiles) {
+            if (sourceFile instanceof ParseError) {
+                failed.add(options.getBaseDir().resolve(sourceFile.getSourcePath()));
+            }
+        }
+        List<Result> results = recipe.run(new InMemoryLargeSourceSet(sourceFiles), ctx).getChangeset().getAllResults();
+        return results.stream()
+                .map(FileChange::of)
+                .sorted(Comparator.comparing(FileChange::getPath, RunnerOptions.SOURCE_ORDER))
+                .toList();
+    }
+
+    private JavaParser parser(List<NamedStyles> styles) {
+        return JavaParser.fromJavaVersion()
+                .classpath(classpath)
+                .styles(styles)
+                .build();
+    }
+
+    /**
+     * Splits files, ordered so the files of a directory are next to each other, into contiguous groups of whole
+     * directories, each of at most the given size unless a single directory holds more files.
+     */
+    static List<List<Path>> byDirectory(List<Path> files, int size) {
+        List<List<Path>> groups = new ArrayList<>();
+        int start = 0;
+        for (int end = 0; end < files.size(); ) {
+            int directoryEnd = end + 1;
+            while (directoryEnd < files.size() && Objects.equals(files.get(directoryEnd).getParent(), files.get(end).getParent())) {
+                directoryEnd++;
+            }
+            if (directoryEnd - start > size && end > start) {
+                groups.add(files.subList(start, end));
+                start = end;
+            }
+            end = directoryEnd;
+        }
+        if (start < files.size()) {
+            groups.add(files.subList(start, files.size()));
+        }
+        return groups;
+    }
+
+    /**
+     * @return the files of {@code all} in the same directory as one of the {@code selected} files, in the same order.
+     */
+    static List<Path> wholeDirectories(List<Path> selected, List<Path> all) {
+        if (selected.size() == all.size()) {
+            return all;
+        }
+        Set<Path> directories = new HashSet<>();
+        for (Path file : selected) {
+            directories.add(file.getParent());
+        }
+        List<Path> files = new ArrayList<>(selected.size());
+        for (Path file : all) {
+            if (directories.contains(file.getParent())) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            // Looked up reflectively so the runner still compiles for, and runs on, Java 17
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later", e);
+        }
+    }
+}
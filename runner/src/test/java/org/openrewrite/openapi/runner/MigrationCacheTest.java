@@ -0,0 +1,157 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.runner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.style.Autodetect;
+import org.openrewrite.java.tree.JavaSourceFile;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MigrationCacheTest {
+    private static final byte[] CONFIG = new byte[32];
+    private static final SourceDependencies NO_DEPENDENCIES = new SourceDependencies(List.of(), List.of());
+
+    @TempDir
+    Path baseDir;
+
+    @Test
+    void skipsContentRecordedAsUnchanged() throws IOException {
+        Path a = Files.writeString(baseDir.resolve("A.java"), "class A {}");
+        Path b = Files.writeString(baseDir.resolve("B.java"), "class B {}");
+        Path cacheFile = baseDir.resolve("cache");
+
+        MigrationCache cache = MigrationCache.open(cacheFile, CONFIG, NO_DEPENDENCIES);
+        assertThat(cache.notUpToDate(List.of(a, b))).containsExactly(a, b);
+        cache.update(baseDir, List.of(), Set.of());
+
+        assertThat(MigrationCache.open(cacheFile, CONFIG, NO_DEPENDENCIES).notUpToDate(List.of(a, b))).isEmpty();
+
+        Files.writeString(a, "class A { int i; }");
+        assertThat(MigrationCache.open(cacheFile, CONFIG, NO_DEPENDENCIES).notUpToDate(List.of(a, b))).containsExactly(a);
+    }
+
+    @Test
+    void changedDependencyInvalidatesRecord() throws IOException {
+        Path a = write("com/acme/api/A.java", "package com.acme.api;\nimport com.acme.model.Pet;\nclass A { Pet pet; }");
+        Path pet = write("com/acme/model/Pet.java", "package com.acme.model;\npublic class Pet {}");
+        Path owner = write("com/acme/model/Owner.java", "package com.acme.model;\npublic class Owner {}");
+        List<Path> files = List.of(a, owner, pet);
+        SourceDependencies dependencies = new SourceDependencies(files, List.of(baseDir));
+        Path cacheFile = baseDir.resolve("cache");
+
+        MigrationCache cache = MigrationCache.open(cacheFile, CONFIG, dependencies);
+        cache.notUpToDate(files);
+        cache.update(baseDir, List.of(), Set.of());
+        assertThat(MigrationCache.open(cacheFile, CONFIG, dependencies).notUpToDate(files)).isEmpty();
+
+        // A imports Pet, which is in the same package as Owner
+        Files.writeString(pet, "package com.acme.model;\npublic class Pet extends Owner {}");
+        assertThat(MigrationCache.open(cacheFile, CONFIG, dependencies).notUpToDate(files)).containsExactly(a, owner, pet);
+    }
+
+    @Test
+    void migratedOutputIsRecordedAgainstMigratedDependencies() throws IOException {
+        Path a = write("com/acme/A.java", "package com.acme;\nclass A { @io.swagger.annotations.Api B b; }");
+        Path b = write("com/acme/B.java", "package com.acme;\nclass B {}");
+        List<Path> files = List.of(a, b);
+        SourceDependencies dependencies = new SourceDependencies(files, List.of(baseDir));
+        Path cacheFile = baseDir.resolve("cache");
+
+        MigrationCache cache = MigrationCache.open(cacheFile, CONFIG, dependencies);
+        cache.notUpToDate(files);
+        String migrated = "package com.acme;\nclass A { @io.swagger.v3.oas.annotations.tags.Tag B b; }";
+        cache.update(baseDir, List.of(new FileChange(baseDir.relativize(a), "", migrated.getBytes(StandardCharsets.UTF_8))), Set.of());
+
+        Files.writeString(a, migrated);
+        assertThat(MigrationCache.open(cacheFile, CONFIG, dependencies).notUpToDate(files)).isEmpty();
+    }
+
+    @Test
+    void failedFilesAreNotRecorded() throws IOException {
+        Path a = Files.writeString(baseDir.resolve("A.java"), "class A {");
+        Path cacheFile = baseDir.resolve("cache");
+
+        MigrationCache cache = MigrationCache.open(cacheFile, CONFIG, NO_DEPENDENCIES);
+        cache.notUpToDate(List.of(a));
+        cache.update(baseDir, List.of(), Set.of(a));
+
+        assertThat(MigrationCache.open(cacheFile, CONFIG, NO_DEPENDENCIES).notUpToDate(List.of(a))).containsExactly(a);
+    }
+
+    @Test
+    void changedConfigurationDiscardsRecords() throws IOException {
+        Path a = Files.writeString(baseDir.resolve("A.java"), "class A {}");
+        Path cacheFile = baseDir.resolve("cache");
+
+        MigrationCache cache = MigrationCache.open(cacheFile, CONFIG, NO_DEPENDENCIES);
+        cache.notUpToDate(List.of(a));
+        cache.update(baseDir, List.of(), Set.of());
+
+        byte[] otherConfig = new byte[32];
+        otherConfig[0] = 1;
+        assertThat(MigrationCache.open(cacheFile, otherConfig, NO_DEPENDENCIES).notUpToDate(List.of(a))).containsExactly(a);
+        assertThat(MigrationCache.open(cacheFile, CONFIG, NO_DEPENDENCIES).notUpToDate(List.of(a))).containsExactly(a);
+    }
+
+    @Test
+    void configHashCoversTheOptionsAndTheStyle() {
+        Autodetect style = Autodetect.detector().build();
+        byte[] configHash = MigrationCache.configHash(new RunnerOptions(), style);
+
+        assertThat(MigrationCache.configHash(new RunnerOptions(), style)).isEqualTo(configHash);
+        assertThat(MigrationCache.configHash(new RunnerOptions().chunkSize(10), style)).isNotEqualTo(configHash);
+        assertThat(MigrationCache.configHash(new RunnerOptions().shardSize(10), style)).isNotEqualTo(configHash);
+        assertThat(MigrationCache.configHash(new RunnerOptions().shardByModule(true), style)).isNotEqualTo(configHash);
+        assertThat(MigrationCache.configHash(new RunnerOptions().prefilter(false), style)).isNotEqualTo(configHash);
+        assertThat(MigrationCache.configHash(new RunnerOptions().removePackage("com\\.acme"), style)).isNotEqualTo(configHash);
+
+        Autodetect.Detector detector = Autodetect.detector();
+        JavaParser.fromJavaVersion().build()
+          .parse("class A {\n\tvoid a() {\n\t\tint i = 0;\n\t}\n}")
+          .forEach(sourceFile -> detector.sample((JavaSourceFile) sourceFile));
+        assertThat(MigrationCache.configHash(new RunnerOptions(), detector.build())).isNotEqualTo(configHash);
+    }
+
+    @Test
+    void ignoresPartialRecord() throws IOException {
+        Path a = Files.writeString(baseDir.resolve("A.java"), "class A {}");
+        Path cacheFile = baseDir.resolve("cache");
+
+        MigrationCache cache = MigrationCache.open(cacheFile, CONFIG, NO_DEPENDENCIES);
+        cache.notUpToDate(List.of(a));
+        cache.update(baseDir, List.of(), Set.of());
+        Files.write(cacheFile, new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+
+        assertThat(MigrationCache.open(cacheFile, CONFIG, NO_DEPENDENCIES).notUpToDate(List.of(a))).isEmpty();
+    }
+
+    private Path write(String path, String content) throws IOException {
+        Path file = baseDir.resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+}
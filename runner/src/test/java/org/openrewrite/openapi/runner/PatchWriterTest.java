@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.runner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PatchWriterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writesEachChangeAsItIsHandedOver() throws IOException {
+        FileChange modified = new FileChange(Paths.get("src/PetController.java"), """
+          --- a/src/PetController.java
+          +++ b/src/PetController.java
+          @@ -1,3 +1,3 @@
+          -import io.swagger.annotations.ApiOperation;
+          +import io.swagger.v3.oas.annotations.Operation;
+           
+           class PetController {
+          """, new byte[0]);
+        FileChange deleted = new FileChange(Paths.get("src/SwaggerConfig.java"), """
+          --- a/src/SwaggerConfig.java
+          +++ /dev/null
+          @@ -1,2 +0,0 @@
+          -class SwaggerConfig {
+          -}
+          """, null);
+
+        Path patch = dir.resolve("swagger.patch");
+        Path report = dir.resolve("swagger.tsv");
+        try (PatchWriter writer = PatchWriter.open(patch, report)) {
+            writer.accept(modified);
+            assertThat(Files.readString(patch)).isEqualTo(modified.getDiff());
+
+            writer.accept(deleted);
+            assertThat(Files.readString(patch)).isEqualTo(modified.getDiff() + deleted.getDiff());
+        }
+
+        assertThat(Files.readString(report)).isEqualTo(PatchWriter.REPORT_HEADER +
+          "src/PetController.java\tmodified\t1\t1\n" +
+          "src/SwaggerConfig.java\tdeleted\t0\t2\n");
+    }
+
+    @Test
+    void countsChangedLinesThatLookLikeHeaders() throws IOException {
+        FileChange change = new FileChange(Paths.get("src/Counter.java"), """
+          diff --git a/src/Counter.java b/src/Counter.java
+          --- a/src/Counter.java
+          +++ b/src/Counter.java
+          @@ -1,4 +1,4 @@
+           class Counter {
+          ---i;
+          +++count;
+          ---- a/README.md
+          ++++ b/README.md
+           }
+          """, new byte[0]);
+
+        Path patch = dir.resolve("swagger.patch");
+        Path report = dir.resolve("swagger.tsv");
+        try (PatchWriter writer = PatchWriter.open(patch, report)) {
+            writer.accept(change);
+        }
+
+        assertThat(Files.readString(report)).isEqualTo(PatchWriter.REPORT_HEADER +
+          "src/Counter.java\tmodified\t2\t2\n");
+    }
+
+    @Test
+    void diffLargerThanTheBuffer() throws IOException {
+        String diff = "+ é€\n".repeat(50_000);
+
+        Path patch = dir.resolve("swagger.patch");
+        try (PatchWriter writer = PatchWriter.open(patch, null)) {
+            writer.accept(new FileChange(Paths.get("A.java"), diff, new byte[0]));
+        }
+
+        assertThat(Files.readString(patch)).isEqualTo(diff);
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.runner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SourcePrefilterTest {
+
+    @TempDir
+    Path src;
+
+    @Test
+    void literalPrefix() {
+        assertThat(SourcePrefilter.literalPrefix("springfox\\.documentation(\\..+)?")).isEqualTo("springfox.documentation");
+        assertThat(SourcePrefilter.literalPrefix("com\\.acme\\.docs?")).isEqualTo("com.acme.doc");
+        assertThat(SourcePrefilter.literalPrefix("com\\.(acme|example)")).isEmpty();
+        assertThat(SourcePrefilter.literalPrefix(".*\\.swagger")).isEmpty();
+    }
+
+    @Test
+    void selectsSwaggerSourcesWithoutTheirDependencies() throws IOException {
+        Path controller = write("com/acme/api/PetController.java", """
+          package com.acme.api;
+          
+          import io.swagger.annotations.ApiOperation;
+          import com.acme.model.Pet;
+          
+          class PetController {
+              @ApiOperation("Find pets")
+              Pet find() { return null; }
+          }
+          """);
+        write("com/acme/api/Paths.java", "package com.acme.api;\nclass Paths {}\n");
+        write("com/acme/model/Pet.java", "package com.acme.model;\npublic class Pet {}\n");
+        write("com/acme/model/Owner.java", "package com.acme.model;\npublic class Owner {}\n");
+        write("com/acme/service/PetService.java", "package com.acme.service;\nclass PetService {}\n");
+        Path config = write("com/acme/config/DocsConfig.java", """
+          package com.acme.config;
+          
+          import com.acme.docs.Docket;
+          
+          class DocsConfig {}
+          """);
+
+        List<Path> files;
+        try (var walk = Files.walk(src)) {
+            files = walk.filter(Files::isRegularFile).sorted().toList();
+        }
+
+        assertThat(SourcePrefilter.of(List.of()).select(files)).containsExactly(controller);
+        assertThat(SourcePrefilter.of(List.of("com\\.acme\\.docs(\\..+)?")).select(files)).containsExactly(controller, config);
+    }
+
+    @Test
+    void scansFilesOfAnySize() throws IOException {
+        Path large = write("com/acme/Large.java", "package com.acme;\n" + "//\n".repeat(100_000) +
+                                                 "@io.swagger.annotations.Api\nclass Large {}\n");
+        Path small = write("com/acme/other/Small.java", "package com.acme.other;\nclass Small {}\n");
+        Path lastSmall = write("com/acme/other/Tail.java", "package com.acme.other;\n@springfox.Docket\nclass Tail {}\n");
+
+        // The buffer grown for the large file still holds its bytes past the end of the small files that follow
+        assertThat(SourcePrefilter.of(List.of()).select(List.of(large, small, lastSmall))).containsExactly(large, lastSmall);
+        assertThat(SourcePrefilter.of(List.of()).select(List.of(large, small))).containsExactly(large);
+    }
+
+    @Test
+    void noPrefilterWithoutLiteralPrefix() {
+        assertThat(SourcePrefilter.of(List.of("(com|org)\\.acme"))).isNull();
+    }
+
+    private Path write(String path, String content) throws IOException {
+        Path file = src.resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+}
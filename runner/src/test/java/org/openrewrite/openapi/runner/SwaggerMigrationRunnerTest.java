@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.runner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.openapi.swagger.SwaggerCorpusGenerator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwaggerMigrationRunnerTest {
+
+    @TempDir
+    Path baseDir;
+
+    @Test
+    void parallelRunMatchesSerialRun() throws IOException {
+        SwaggerCorpusGenerator.ofSize(42, 60).packages(6).writeTo(baseDir.resolve("src"));
+
+        List<FileChange> serial = new SwaggerMigrationRunner(options().parallelism(1)).run();
+        List<FileChange> parallel = new SwaggerMigrationRunner(options().parallelism(4)).run();
+
+        assertThat(serial).isNotEmpty();
+        assertThat(parallel).extracting(FileChange::getPath).containsExactlyElementsOf(
+          serial.stream().map(FileChange::getPath).toList());
+        assertThat(parallel).extracting(FileChange::getDiff).containsExactlyElementsOf(
+          serial.stream().map(FileChange::getDiff).toList());
+    }
+
+    @Test
+    void chunkSizeDoesNotChangeResults() throws IOException {
+        // Responses that refer to a constant of a model class declared in another source file
+        new SwaggerCorpusGenerator(42).packages(3).controllers(6).models(6).nonLiteralResponses(true).writeTo(baseDir.resolve("src"));
+
+        List<FileChange> one = new SwaggerMigrationRunner(options().chunkSize(1)).run();
+        List<FileChange> all = new SwaggerMigrationRunner(options().chunkSize(1000)).run();
+
+        assertThat(one).isNotEmpty();
+        assertThat(all).extracting(FileChange::getDiff).containsExactlyElementsOf(
+          one.stream().map(FileChange::getDiff).toList());
+    }
+
+    @Test
+    void prefilterDoesNotChangeResults() throws IOException {
+        SwaggerCorpusGenerator.ofSize(42, 60).packages(6).writeTo(baseDir.resolve("src"));
+
+        List<FileChange> all = new SwaggerMigrationRunner(options().chunkSize(1000).prefilter(false)).run();
+        List<FileChange> prefiltered = new SwaggerMigrationRunner(options().chunkSize(1000)).run();
+
+        assertThat(prefiltered).extracting(FileChange::getDiff).containsExactlyElementsOf(
+          all.stream().map(FileChange::getDiff).toList());
+    }
+
+    @Test
+    void shardedRunMatchesUnshardedRun() throws IOException {
+        SwaggerCorpusGenerator.ofSize(42, 60).packages(6).writeTo(baseDir.resolve("src"));
+
+        List<FileChange> unsharded = new SwaggerMigrationRunner(options()).run();
+        List<FileChange> sharded = new ArrayList<>();
+        new SwaggerMigrationRunner(options().shardSize(20)).run(sharded::add);
+
+        assertThat(sharded).extracting(FileChange::getDiff).containsExactlyElementsOf(
+          unsharded.stream().map(FileChange::getDiff).toList());
+    }
+
+    @Test
+    void shardByModule() throws IOException {
+        List<Path> a = SwaggerCorpusGenerator.ofSize(42, 20).writeTo(baseDir.resolve("a/src"));
+        List<Path> b = SwaggerCorpusGenerator.ofSize(43, 20).writeTo(baseDir.resolve("b/src"));
+        Files.writeString(baseDir.resolve("a/build.gradle"), "");
+        Files.writeString(baseDir.resolve("b/pom.xml"), "<project/>");
+        RunnerOptions options = new RunnerOptions()
+          .baseDir(baseDir)
+          .sourceDirectory(Paths.get("a/src"))
+          .sourceDirectory(Paths.get("b/src"))
+          .shardByModule(true)
+          .shardSize(15);
+
+        SwaggerMigrationRunner runner = new SwaggerMigrationRunner(options);
+        // Each module is a single package, which is not split
+        assertThat(runner.shards(options.javaSourceFiles()))
+          .extracting(List::size)
+          .containsExactly(a.size(), b.size());
+        assertThat(runner.run()).extracting(FileChange::getDiff).containsExactlyElementsOf(
+          new SwaggerMigrationRunner(options.shardByModule(false).shardSize(0).chunkSize(a.size())).run().stream().map(FileChange::getDiff).toList());
+    }
+
+    @Test
+    void chunksKeepDirectoriesTogether() {
+        List<Path> files = Stream.of("a/A.java", "a/B.java", "a/C.java", "b/D.java", "c/E.java", "c/F.java", "d/G.java")
+          .map(baseDir::resolve)
+          .toList();
+
+        assertThat(SwaggerMigrationRunner.byDirectory(files, 2)).containsExactly(
+          files.subList(0, 3), files.subList(3, 4), files.subList(4, 6), files.subList(6, 7));
+        assertThat(SwaggerMigrationRunner.byDirectory(files, 4)).containsExactly(
+          files.subList(0, 4), files.subList(4, 7));
+        assertThat(SwaggerMigrationRunner.wholeDirectories(List.of(files.get(1), files.get(5)), files)).containsExactly(
+          files.get(0), files.get(1), files.get(2), files.get(4), files.get(5));
+    }
+
+    @Test
+    void inPlace() throws IOException {
+        List<Path> files = SwaggerCorpusGenerator.ofSize(42, 20).writeTo(baseDir.resolve("src"));
+
+        for (FileChange change : new SwaggerMigrationRunner(options()).run()) {
+            change.applyTo(baseDir);
+        }
+
+        for (Path file : files) {
+            assertThat(Files.readString(file)).doesNotContain("@ApiOperation(", "@ApiResponse(code");
+        }
+    }
+
+    @Test
+    void cacheSkipsMigratedFiles() throws IOException {
+        List<Path> files = SwaggerCorpusGenerator.ofSize(42, 20).writeTo(baseDir.resolve("src"));
+        Path controller = files.stream().filter(file -> file.getFileName().toString().startsWith("Controller")).findFirst().orElseThrow();
+        String original = Files.readString(controller);
+
+        for (FileChange change : new SwaggerMigrationRunner(options().cache(Paths.get("cache"))).run()) {
+            change.applyTo(baseDir);
+        }
+        assertThat(new SwaggerMigrationRunner(options().cache(Paths.get("cache"))).run()).isEmpty();
+
+        Files.writeString(controller, original);
+        assertThat(new SwaggerMigrationRunner(options().cache(Paths.get("cache"))).run())
+          .extracting(change -> baseDir.resolve(change.getPath()))
+          .containsExactly(controller);
+    }
+
+    @Test
+    void parseOptions() {
+        RunnerOptions options = RunnerOptions.parse("--parallelism", "8", "--chunk-size", "50", "--in-place", "src/main/java");
+
+        assertThat(options.getParallelism()).isEqualTo(8);
+        assertThat(options.getChunkSize()).isEqualTo(50);
+        assertThat(options.isInPlace()).isTrue();
+        assertThat(RunnerOptions.parse("--shard-size", "1000", "--shard-by-module", "src/main/java"))
+          .extracting(RunnerOptions::getShardSize, RunnerOptions::isShardByModule)
+          .containsExactly(1000, true);
+    }
+
+    private RunnerOptions options() {
+        return new RunnerOptions()
+          .baseDir(baseDir)
+          .sourceDirectory(Paths.get("src"))
+          .chunkSize(10);
+    }
+}
@@ -1,4 +1,5 @@
 rootProject.name = "rewrite-openapi"
+include("runner")
 
 plugins {
     id("com.gradle.enterprise") version "3.16"
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Result;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the cost of converting the `@ApiResponse(response = ..., responseContainer = ...)`s of one method's
+ * `@ApiResponses`, including detecting the formatting style of the sources once per run.
+ * With `attributed = true` the response class is declared in the parsed sources; with `attributed = false` it is
+ * missing from the classpath. With `classLiteralResponses = true` the content tree is built directly; with
+ * `classLiteralResponses = false` the `response`s refer to a `TYPE` constant of the response class instead, which goes
+ * through the template that each visitor builds once and reuses for all its annotations.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ConvertApiResponseContainerToContentBenchmark {
+    private static final int METHODS = 10;
+
+    @Param({"true", "false"})
+    public boolean attributed;
+
+    @Param({"1", "8"})
+    public int responsesPerMethod;
+
+    @Param({"true", "false"})
+    public boolean classLiteralResponses;
+
+    List<SourceFile> sourceFiles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> swagger1 = JavaParser.fromJavaVersion()
+                .classpath("swagger-annotations-1.+", "swagger-annotations-2.+")
+                .build()
+                .parse(ctx, controller())
+                .collect(Collectors.toList());
+
+        // Benchmark only the container conversion, so migrate the annotation types up front
+        sourceFiles = new MigrateSwaggerAnnotations().run(new InMemoryLargeSourceSet(swagger1), ctx)
+                .getChangeset().getAllResults().stream()
+                .map(Result::getAfter)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(METHODS)
+    public void convertApiResponses(Blackhole blackhole) {
+        blackhole.consume(new ConvertApiResponseContainerToContent()
+                .run(new InMemoryLargeSourceSet(sourceFiles), new InMemoryExecutionContext()));
+    }
+
+    private String controller() {
+        StringBuilder source = new StringBuilder()
+                .append("import io.swagger.annotations.ApiResponse;\n")
+                .append("import io.swagger.annotations.ApiResponses;\n\n")
+                .append("class PetController {\n");
+        for (int m = 0; m < METHODS; m++) {
+            source.append("    @ApiResponses(value = {\n");
+            for (int r = 0; r < responsesPerMethod; r++) {
+                source.append("        @ApiResponse(code = ").append(200 + r)
+                        .append(", message = \"OK\", response = ").append(classLiteralResponses ? "Pet.class" : "Pet.TYPE")
+                        .append(", responseContainer = \"List\")")
+                        .append(r < responsesPerMethod - 1 ? ",\n" : "})\n");
+            }
+            source.append("    void method").append(m).append("() {}\n\n");
+        }
+        source.append("}\n");
+        if (attributed) {
+            source.append("\nclass Pet {\n    static final Class<Pet> TYPE = Pet.class;\n}\n");
+        }
+        return source.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ConvertApiResponseContainerToContentBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the number of nodes visited, and the time taken, by a full {@link JavaIsoVisitor} walk and by the
+ * {@link DeclarationVisitor} the recipes in this module build on. The node counts are reported as the
+ * `nodes` secondary result.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DeclarationVisitorBenchmark {
+
+    @Param({"10", "100"})
+    public int files;
+
+    List<SourceFile> sourceFiles;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class NodeCount {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sourceFiles = JavaParser.fromJavaVersion()
+                .classpath("swagger-annotations-1.+", "swagger-annotations-2.+")
+                .build()
+                .parse(new InMemoryExecutionContext(), SwaggerCorpusGenerator.contents(SwaggerCorpusGenerator.ofSize(42, files).generate()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void fullTraversal(NodeCount count) {
+        visitAll(new JavaIsoVisitor<NodeCount>() {
+            @Override
+            public J preVisit(J tree, NodeCount c) {
+                c.nodes++;
+                return tree;
+            }
+        }, count);
+    }
+
+    @Benchmark
+    public void declarationTraversal(NodeCount count) {
+        visitAll(new DeclarationVisitor<NodeCount>() {
+            @Override
+            public J preVisit(J tree, NodeCount c) {
+                c.nodes++;
+                return tree;
+            }
+        }, count);
+    }
+
+    private void visitAll(JavaIsoVisitor<NodeCount> visitor, NodeCount count) {
+        for (SourceFile sourceFile : sourceFiles) {
+            visitor.visit(sourceFile, count);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(DeclarationVisitorBenchmark.class.getSimpleName())
+                .shouldFailOnError(true)
+                .build();
+        new Runner(opt).run();
+    }
+}
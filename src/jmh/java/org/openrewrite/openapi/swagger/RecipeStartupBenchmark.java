@@ -0,0 +1,83 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Time from a fresh JVM to the first migrated source file, loading `SwaggerToOpenAPI` either from
+ * `META-INF/rewrite/swagger-2.yml` by scanning the classpath, or from {@link SwaggerRecipes}. Every measurement is
+ * a single shot in a fork of its own, as startup only happens once per JVM; parsing the source file is not measured.
+ */
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RecipeStartupBenchmark {
+
+    List<SourceFile> sourceFiles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sourceFiles = JavaParser.fromJavaVersion()
+                .classpath("swagger-annotations-1.+", "swagger-annotations-2.+")
+                .build()
+                .parse(new InMemoryExecutionContext(), SwaggerCorpusGenerator.contents(SwaggerCorpusGenerator.ofSize(42, 1).generate()))
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void declarative(Blackhole blackhole) {
+        run(Environment.builder()
+                .scanRuntimeClasspath("org.openrewrite.openapi.swagger")
+                .build()
+                .activateRecipes("org.openrewrite.openapi.swagger.SwaggerToOpenAPI"), blackhole);
+    }
+
+    @Benchmark
+    public void programmatic(Blackhole blackhole) {
+        run(SwaggerRecipes.swaggerToOpenAPI(), blackhole);
+    }
+
+    private void run(Recipe recipe, Blackhole blackhole) {
+        blackhole.consume(recipe.run(new InMemoryLargeSourceSet(sourceFiles), new InMemoryExecutionContext()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(RecipeStartupBenchmark.class.getSimpleName())
+                .shouldFailOnError(true)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Throughput of each recipe in this module over pre-parsed LSTs, with parsing the same corpus as a
+ * separate benchmark so that parse cost and recipe cost can be told apart. Run with `-prof gc`
+ * (as {@link #main(String[])} and the `jmh` Gradle task do) to also report allocation rates.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SwaggerRecipeBenchmark {
+
+    @Benchmark
+    public void parse(SwaggerSourceState state, Blackhole blackhole) {
+        blackhole.consume(state.parser().build()
+                .parse(new InMemoryExecutionContext(), state.sources)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public void migrateSwaggerAnnotations(SwaggerSourceState state, Blackhole blackhole) {
+        run(new MigrateSwaggerAnnotations(), state.swagger1SourceFiles, blackhole);
+    }
+
+    @Benchmark
+    public void convertApiResponseCodesToStrings(SwaggerSourceState state, Blackhole blackhole) {
+        run(new ConvertApiResponseCodesToStrings(), state.openApi3SourceFiles, blackhole);
+    }
+
+    @Benchmark
+    public void convertApiResponseContainerToContent(SwaggerSourceState state, Blackhole blackhole) {
+        run(new ConvertApiResponseContainerToContent(), state.openApi3SourceFiles, blackhole);
+    }
+
+    @Benchmark
+    public void removeClazzRecipe(SwaggerSourceState state, Blackhole blackhole) {
+        run(new RemoveClazzRecipe("springfox\\.documentation(\\..+)?"), state.swagger1SourceFiles, blackhole);
+    }
+
+    @Benchmark
+    public void estimateSwaggerMigration(SwaggerSourceState state, Blackhole blackhole) {
+        run(new EstimateSwaggerMigration(null), state.swagger1SourceFiles, blackhole);
+    }
+
+    @Benchmark
+    public void swaggerToOpenAPI(SwaggerSourceState state, Blackhole blackhole) {
+        run(state.swaggerToOpenAPI, state.swagger1SourceFiles, blackhole);
+    }
+
+    private static void run(Recipe recipe, List<SourceFile> sourceFiles, Blackhole blackhole) {
+        blackhole.consume(recipe.run(new InMemoryLargeSourceSet(sourceFiles), new InMemoryExecutionContext()));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(SwaggerRecipeBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .build();
+        new Runner(opt).run();
+    }
+}
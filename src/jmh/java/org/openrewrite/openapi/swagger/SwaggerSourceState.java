@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.openjdk.jmh.annotations.*;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link SwaggerCorpusGenerator synthetic} Swagger 1.x code base, parsed once per trial so that recipe benchmarks
+ * don't include parse cost. The size of the corpus is controllers × methods × `@ApiResponse` per method, plus one
+ * model and one springfox configuration class per controller.
+ */
+@State(Scope.Benchmark)
+public class SwaggerSourceState {
+
+    @Param({"1", "10"})
+    public int controllers;
+
+    @Param({"5", "20"})
+    public int methods;
+
+    @Param({"1", "8"})
+    public int responses;
+
+    String[] sources;
+
+    /**
+     * The corpus as parsed, using Swagger 1.x annotations.
+     */
+    List<SourceFile> swagger1SourceFiles;
+
+    /**
+     * The corpus after {@link MigrateSwaggerAnnotations}, which is the input the `ConvertApiResponse*` recipes
+     * see when they run as part of the composite.
+     */
+    List<SourceFile> openApi3SourceFiles;
+
+    Recipe swaggerToOpenAPI;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sources = SwaggerCorpusGenerator.contents(new SwaggerCorpusGenerator(42)
+                .controllers(controllers)
+                .methodsPerController(methods)
+                .responsesPerMethod(responses)
+                .models(controllers)
+                .plainClasses(0)
+                .docketConfigs(controllers)
+                .generate());
+
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        swagger1SourceFiles = parser().build().parse(ctx, sources).collect(Collectors.toList());
+        openApi3SourceFiles = new MigrateSwaggerAnnotations()
+                .run(new InMemoryLargeSourceSet(swagger1SourceFiles), ctx)
+                .getChangeset()
+                .getAllResults().stream()
+                .map(result -> result.getAfter() == null ? result.getBefore() : result.getAfter())
+                .collect(Collectors.toList());
+        for (SourceFile sourceFile : swagger1SourceFiles) {
+            // Unchanged files are not part of the changeset
+            if (openApi3SourceFiles.stream().noneMatch(s -> s.getSourcePath().equals(sourceFile.getSourcePath()))) {
+                openApi3SourceFiles.add(sourceFile);
+            }
+        }
+
+        swaggerToOpenAPI = Environment.builder()
+                .scanRuntimeClasspath("org.openrewrite.openapi.swagger")
+                .build()
+                .activateRecipes("org.openrewrite.openapi.swagger.SwaggerToOpenAPI");
+    }
+
+    JavaParser.Builder<?, ?> parser() {
+        return JavaParser.fromJavaVersion()
+                .classpath("swagger-annotations-1.+", "swagger-annotations-2.+");
+    }
+}
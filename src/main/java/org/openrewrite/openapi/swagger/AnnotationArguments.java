@@ -0,0 +1,111 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * The arguments of an annotation, classified once by the attribute they set: a named argument, as in
+ * `@ApiResponse(code = 200)`, by its name, and a positional one, as in `@ApiOperation("Find pets")`, as `value`.
+ * <p>
+ * Annotations have few arguments, so lookups scan the names rather than hash them; neither looking up an attribute
+ * nor missing it allocates, and an annotation without arguments shares a single empty view.
+ */
+final class AnnotationArguments {
+    static final String VALUE = "value";
+
+    private static final AnnotationArguments NONE = new AnnotationArguments(emptyList(), new String[0]);
+
+    private final List<Expression> arguments;
+
+    /**
+     * The attribute set by the argument at the same index, or {@code null} for the {@link J.Empty} of `@A()`.
+     */
+    private final String[] names;
+
+    private AnnotationArguments(List<Expression> arguments, String[] names) {
+        this.arguments = arguments;
+        this.names = names;
+    }
+
+    static AnnotationArguments of(J.Annotation annotation) {
+        List<Expression> arguments = annotation.getArguments();
+        if (arguments == null || arguments.isEmpty()) {
+            return NONE;
+        }
+        String[] names = new String[arguments.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = name(arguments.get(i));
+        }
+        return new AnnotationArguments(arguments, names);
+    }
+
+    /**
+     * The attribute an argument sets: its name if it is named, `value` if it is positional, and {@code null} for
+     * the {@link J.Empty} of `@A()`.
+     */
+    static @Nullable String name(Expression argument) {
+        if (argument instanceof J.Assignment) {
+            Expression variable = ((J.Assignment) argument).getVariable();
+            return variable instanceof J.Identifier ? ((J.Identifier) variable).getSimpleName() : null;
+        }
+        return argument instanceof J.Empty ? null : VALUE;
+    }
+
+    boolean has(String attribute) {
+        return indexOf(attribute) >= 0;
+    }
+
+    /**
+     * @return the argument that sets the attribute, an assignment if it is named, or {@code null} if none does.
+     */
+    @Nullable
+    Expression argument(String attribute) {
+        int i = indexOf(attribute);
+        return i < 0 ? null : arguments.get(i);
+    }
+
+    /**
+     * @return the value the attribute is set to, or {@code null} if it is not set.
+     */
+    @Nullable
+    Expression value(String attribute) {
+        Expression argument = argument(attribute);
+        return argument instanceof J.Assignment ? ((J.Assignment) argument).getAssignment() : argument;
+    }
+
+    /**
+     * Whether the attribute is set to an array initializer, as in `@ApiResponses({...})`.
+     */
+    boolean isArray(String attribute) {
+        return value(attribute) instanceof J.NewArray;
+    }
+
+    private int indexOf(String attribute) {
+        for (int i = 0; i < names.length; i++) {
+            if (attribute.equals(names[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
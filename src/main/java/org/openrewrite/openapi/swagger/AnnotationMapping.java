@@ -0,0 +1,95 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import lombok.Value;
+
+import java.util.*;
+
+/**
+ * How a single Swagger 1.x annotation maps onto its OpenAPI 3 counterpart: the new type,
+ * the attributes that are renamed and the attributes that have no equivalent and are dropped.
+ */
+@Value
+class AnnotationMapping {
+
+    /**
+     * The Swagger 1.x to OpenAPI 3 mapping table, keyed by the old fully qualified annotation type.
+     * Mirrors the `ChangeType`, `ChangeAnnotationAttributeName` and `RemoveAnnotationAttribute`
+     * entries of the `Migrate*` recipes in `swagger-2.yml`.
+     */
+    static final Map<String, AnnotationMapping> SWAGGER_1_TO_OPENAPI_3;
+
+    static {
+        Map<String, AnnotationMapping> mappings = new LinkedHashMap<>();
+        add(mappings, new AnnotationMapping("io.swagger.annotations.Tag", "io.swagger.v3.oas.annotations.tags.Tag"));
+        add(mappings, new AnnotationMapping("io.swagger.annotations.ApiOperation", "io.swagger.v3.oas.annotations.Operation")
+                .rename("notes", "description")
+                .rename("value", "summary")
+                .remove("response", "consumes", "produces", "nickname", "responseContainer"));
+        add(mappings, new AnnotationMapping("io.swagger.annotations.ApiResponses", "io.swagger.v3.oas.annotations.responses.ApiResponses"));
+        add(mappings, new AnnotationMapping("io.swagger.annotations.ApiResponse", "io.swagger.v3.oas.annotations.responses.ApiResponse")
+                .rename("code", "responseCode")
+                .rename("message", "description"));
+        add(mappings, new AnnotationMapping("io.swagger.annotations.ApiImplicitParams", "io.swagger.v3.oas.annotations.Parameters"));
+        add(mappings, new AnnotationMapping("io.swagger.annotations.ApiImplicitParam", "io.swagger.v3.oas.annotations.Parameter")
+                .rename("value", "description")
+                .remove("dataType", "paramType", "allowMultiple"));
+        add(mappings, new AnnotationMapping("io.swagger.annotations.Api", "io.swagger.v3.oas.annotations.tags.Tag")
+                .rename("value", "name"));
+        add(mappings, new AnnotationMapping("io.swagger.annotations.ApiParam", "io.swagger.v3.oas.annotations.Parameter")
+                .rename("value", "description"));
+        add(mappings, new AnnotationMapping("io.swagger.annotations.ApiModelProperty", "io.swagger.v3.oas.annotations.media.Schema")
+                .rename("value", "description"));
+        add(mappings, new AnnotationMapping("io.swagger.annotations.ApiModel", "io.swagger.v3.oas.annotations.media.Schema"));
+        SWAGGER_1_TO_OPENAPI_3 = Collections.unmodifiableMap(mappings);
+    }
+
+    String oldFullyQualifiedTypeName;
+    String newFullyQualifiedTypeName;
+    Map<String, String> renamedAttributes;
+    Set<String> removedAttributes;
+
+    AnnotationMapping(String oldFullyQualifiedTypeName, String newFullyQualifiedTypeName) {
+        this(oldFullyQualifiedTypeName, newFullyQualifiedTypeName, Collections.emptyMap(), Collections.emptySet());
+    }
+
+    private AnnotationMapping(String oldFullyQualifiedTypeName, String newFullyQualifiedTypeName,
+                              Map<String, String> renamedAttributes, Set<String> removedAttributes) {
+        this.oldFullyQualifiedTypeName = oldFullyQualifiedTypeName;
+        this.newFullyQualifiedTypeName = newFullyQualifiedTypeName;
+        this.renamedAttributes = renamedAttributes;
+        this.removedAttributes = removedAttributes;
+    }
+
+    private AnnotationMapping rename(String oldAttributeName, String newAttributeName) {
+        Map<String, String> renamed = new LinkedHashMap<>(renamedAttributes);
+        renamed.put(oldAttributeName, newAttributeName);
+        return new AnnotationMapping(oldFullyQualifiedTypeName, newFullyQualifiedTypeName,
+                Collections.unmodifiableMap(renamed), removedAttributes);
+    }
+
+    private AnnotationMapping remove(String... attributeNames) {
+        Set<String> removed = new LinkedHashSet<>(removedAttributes);
+        removed.addAll(Arrays.asList(attributeNames));
+        return new AnnotationMapping(oldFullyQualifiedTypeName, newFullyQualifiedTypeName,
+                renamedAttributes, Collections.unmodifiableSet(removed));
+    }
+
+    private static void add(Map<String, AnnotationMapping> mappings, AnnotationMapping mapping) {
+        mappings.put(mapping.getOldFullyQualifiedTypeName(), mapping);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.tree.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Tells the fully qualified type of an annotation, also when the source file was parsed without the Swagger
+ * annotations on its classpath.
+ * <p>
+ * An attributed type always wins. Otherwise, the type is taken from how the annotation is written: a fully qualified
+ * name as is, and a simple name from the single-type import of that name, or from a star import of a package that
+ * holds a Swagger annotation by that name. That is enough for every annotation the recipes in this module rewrite, so
+ * they give the same result whether or not the classpath could be resolved.
+ */
+final class AnnotationTypes {
+    private static final Set<String> KNOWN_TYPES = new HashSet<>();
+
+    static {
+        for (AnnotationMapping mapping : AnnotationMapping.SWAGGER_1_TO_OPENAPI_3.values()) {
+            KNOWN_TYPES.add(mapping.getOldFullyQualifiedTypeName());
+            KNOWN_TYPES.add(mapping.getNewFullyQualifiedTypeName());
+        }
+    }
+
+    private AnnotationTypes() {
+    }
+
+    static boolean isOfType(J.Annotation annotation, @Nullable JavaSourceFile sourceFile, String fullyQualifiedTypeName) {
+        return fullyQualifiedTypeName.equals(fullyQualifiedName(annotation, sourceFile));
+    }
+
+    static @Nullable String fullyQualifiedName(J.Annotation annotation, @Nullable JavaSourceFile sourceFile) {
+        JavaType.FullyQualified type = TypeUtils.asFullyQualified(annotation.getType());
+        if (type != null && !(type instanceof JavaType.Unknown)) {
+            return type.getFullyQualifiedName();
+        }
+        return fullyQualifiedName(annotation.getAnnotationType(), sourceFile, KNOWN_TYPES::contains);
+    }
+
+    /**
+     * Tells the fully qualified name of a type written as a simple or qualified name, from its type attribution or
+     * else from the imports of the source file, the way the compiler would: first a single-type import, then the
+     * package of the source file and last the star imports. Only the last two need to be confirmed by {@code known}.
+     */
+    static @Nullable String fullyQualifiedName(J typeName, @Nullable JavaSourceFile sourceFile, Predicate<String> known) {
+        if (!(typeName instanceof J.Identifier) && !(typeName instanceof J.FieldAccess)) {
+            return null;
+        }
+        JavaType.FullyQualified type = TypeUtils.asFullyQualified(((Expression) typeName).getType());
+        if (type != null && !(type instanceof JavaType.Unknown)) {
+            return type.getFullyQualifiedName();
+        }
+
+        if (typeName instanceof J.FieldAccess) {
+            return qualifiedName((J.FieldAccess) typeName);
+        }
+        if (sourceFile == null) {
+            return null;
+        }
+        String simpleName = ((J.Identifier) typeName).getSimpleName();
+        for (J.Import anImport : sourceFile.getImports()) {
+            if (!anImport.isStatic() && anImport.getQualid().getSimpleName().equals(simpleName)) {
+                return anImport.getTypeName();
+            }
+        }
+        if (sourceFile.getPackageDeclaration() != null) {
+            String candidate = qualifiedName(sourceFile.getPackageDeclaration().getExpression()) + "." + simpleName;
+            if (known.test(candidate)) {
+                return candidate;
+            }
+        }
+        for (J.Import anImport : sourceFile.getImports()) {
+            if (!anImport.isStatic() && "*".equals(anImport.getQualid().getSimpleName())) {
+                String candidate = anImport.getPackageName() + "." + simpleName;
+                if (known.test(candidate)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static @Nullable String qualifiedName(Expression expression) {
+        if (expression instanceof J.Identifier) {
+            return ((J.Identifier) expression).getSimpleName();
+        }
+        if (expression instanceof J.FieldAccess) {
+            J.FieldAccess fieldAccess = (J.FieldAccess) expression;
+            String target = qualifiedName(fieldAccess.getTarget());
+            return target == null ? null : target + "." + fieldAccess.getSimpleName();
+        }
+        return null;
+    }
+}
@@ -20,16 +20,17 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
-import org.openrewrite.java.AnnotationMatcher;
-import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
 import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.openapi.swagger.table.SwaggerRecipeMetrics;
 
 public class ConvertApiResponseCodesToStrings extends Recipe {
 
-    private static final AnnotationMatcher ANNOTATION_MATCHER = new AnnotationMatcher("@io.swagger.v3.oas.annotations.responses.ApiResponse");
+    private static final String API_RESPONSE = "io.swagger.v3.oas.annotations.responses.ApiResponse";
+
+    private final transient SwaggerRecipeMetrics metrics = new SwaggerRecipeMetrics(this);
 
     @Override
     public String getDisplayName() {
@@ -45,38 +46,41 @@ public class ConvertApiResponseCodesToStrings extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         // https://docs.swagger.io/swagger-core/v1.5.0/apidocs/io/swagger/annotations/ApiResponse.html
         // https://docs.swagger.io/swagger-core/v2.0.0/apidocs/io/swagger/v3/oas/annotations/responses/ApiResponse.html
-        return Preconditions.check(
-                new UsesType<>("io.swagger.v3.oas.annotations.responses.ApiResponse", true),
-                new JavaIsoVisitor<ExecutionContext>() {
+        return SwaggerMetrics.instrument(this, metrics, Preconditions.check(
+                SwaggerUsage.precondition(usage -> usage.getApiResponses() > 0),
+                new DeclarationVisitor<ExecutionContext>() {
+                    @Override
+                    protected boolean visitsBodies(JavaSourceFile sourceFile, ExecutionContext ctx) {
+                        return SwaggerUsage.of(getCursor(), sourceFile).isBeyondDeclarations();
+                    }
+
                     @Override
                     public J.Annotation visitAnnotation(J.Annotation annotation, ExecutionContext ctx) {
                         J.Annotation an = super.visitAnnotation(annotation, ctx);
-                        if (ANNOTATION_MATCHER.matches(an)) {
-                            return an.withArguments(ListUtils.map(an.getArguments(), this::maybeReplaceResponseCodeTypeAndValue));
+                        if (AnnotationTypes.isOfType(an, getCursor().firstEnclosing(JavaSourceFile.class), API_RESPONSE)) {
+                            SwaggerMetrics.annotationMatched(ctx);
+                            Expression responseCode = AnnotationArguments.of(an).argument("responseCode");
+                            if (responseCode instanceof J.Assignment &&
+                                ((J.Assignment) responseCode).getAssignment() instanceof J.Literal &&
+                                ((J.Literal) ((J.Assignment) responseCode).getAssignment()).getValue() instanceof Number) {
+                                SwaggerMetrics.annotationRewritten(ctx);
+                                return an.withArguments(ListUtils.map(an.getArguments(), arg ->
+                                        arg == responseCode ? toStringLiteral((J.Assignment) arg) : arg));
+                            }
                         }
                         return an;
                     }
 
-                    private Expression maybeReplaceResponseCodeTypeAndValue(Expression arg) {
-                        if (arg instanceof J.Assignment) {
-                            J.Assignment assignment = (J.Assignment) arg;
-                            boolean matchesField = assignment.getVariable() instanceof J.Identifier &&
-                                                   "responseCode".equals(((J.Identifier) assignment.getVariable()).getSimpleName());
-                            boolean usesNumberLiteral = assignment.getAssignment() instanceof J.Literal &&
-                                                        ((J.Literal) assignment.getAssignment()).getValue() instanceof Number;
-                            if (matchesField && usesNumberLiteral) {
-                                J.Literal assignedLiteral = (J.Literal) assignment.getAssignment();
-                                return assignment
-                                        .withType(JavaType.Primitive.String)
-                                        .withAssignment(assignedLiteral
-                                                .withValue(String.valueOf(assignedLiteral.getValue()))
-                                                .withValueSource("\"" + assignedLiteral.getValue() + "\"")
-                                                .withType(JavaType.Primitive.String));
-                            }
-                        }
-                        return arg;
+                    private J.Assignment toStringLiteral(J.Assignment assignment) {
+                        J.Literal assignedLiteral = (J.Literal) assignment.getAssignment();
+                        return assignment
+                                .withType(JavaType.Primitive.String)
+                                .withAssignment(assignedLiteral
+                                        .withValue(String.valueOf(assignedLiteral.getValue()))
+                                        .withValueSource("\"" + assignedLiteral.getValue() + "\"")
+                                        .withType(JavaType.Primitive.String));
                     }
                 }
-        );
+        ));
     }
 }
@@ -15,23 +15,44 @@
  */
 package org.openrewrite.openapi.swagger;
 
+import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Preconditions;
-import org.openrewrite.Recipe;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.internal.ListUtils;
-import org.openrewrite.java.AnnotationMatcher;
-import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.search.UsesType;
-import org.openrewrite.java.tree.Expression;
-import org.openrewrite.java.tree.J;
+import org.openrewrite.java.format.AutoFormatVisitor;
+import org.openrewrite.java.style.Autodetect;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+import org.openrewrite.openapi.swagger.table.SwaggerRecipeMetrics;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
-public class ConvertApiResponseContainerToContent extends Recipe {
-    private static final AnnotationMatcher ANNOTATION_MATCHER = new AnnotationMatcher("@io.swagger.v3.oas.annotations.responses.ApiResponse");
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.openrewrite.Tree.randomId;
+
+public class ConvertApiResponseContainerToContent extends ScanningRecipe<ConvertApiResponseContainerToContent.Accumulator> {
+    private static final String API_RESPONSE = "io.swagger.v3.oas.annotations.responses.ApiResponse";
+    private static final String CONTENT_ATTRIBUTE = "content";
+
+    private static final String CONTENT_TYPE = "io.swagger.v3.oas.annotations.media.Content";
+    private static final String ARRAY_SCHEMA_TYPE = "io.swagger.v3.oas.annotations.media.ArraySchema";
+    private static final String SCHEMA_TYPE = "io.swagger.v3.oas.annotations.media.Schema";
+
+    // Only needed when the response is not a class literal
+    private static final String CONTENT_WITH_SCHEMA_TEMPLATE =
+            "#{} = @" + CONTENT_TYPE + "(array = @" + ARRAY_SCHEMA_TYPE + "(uniqueItems = false, schema = @" + SCHEMA_TYPE + "(implementation = #{})))";
+
+    /**
+     * The number of source files the formatting style is detected from. Detection walks every sampled tree, and a
+     * few hundred files say as much about a project's style as all of them.
+     */
+    private static final int STYLE_SAMPLES = 500;
 
     @Override
     public String getDisplayName() {
@@ -43,63 +64,159 @@ public class ConvertApiResponseContainerToContent extends Recipe {
         return "Convert API response container to content.";
     }
 
-    private String annotationType = "io.swagger.v3.oas.annotations.responses.ApiResponse";
+    private final transient SwaggerRecipeMetrics metrics = new SwaggerRecipeMetrics(this);
 
-    private String attributeName = "content";
+    public static class Accumulator {
+        private final Autodetect.Detector detector = Autodetect.detector();
+        private int samples;
 
+        @Nullable
+        private Autodetect style;
+
+        synchronized Autodetect style() {
+            if (style == null) {
+                style = detector.build();
+            }
+            return style;
+        }
+    }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesType<>(annotationType, false), new JavaIsoVisitor<ExecutionContext>() {
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile && acc.samples < STYLE_SAMPLES && detectedStyle((JavaSourceFile) tree) == null) {
+                    acc.detector.sample((JavaSourceFile) tree);
+                    acc.samples++;
+                }
+                return tree;
+            }
+        };
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        // A JavaTemplate must not be applied from several threads at once, so each visitor builds its own and shares
+        // it across the annotations of its run
+        JavaTemplate contentWithSchema = JavaTemplate.builder(CONTENT_WITH_SCHEMA_TEMPLATE).contextSensitive().build();
+        return SwaggerMetrics.instrument(this, metrics, Preconditions.check(SwaggerUsage.precondition(usage -> usage.getApiResponses() > 0), new DeclarationVisitor<ExecutionContext>() {
+            @Override
+            protected boolean visitsBodies(JavaSourceFile sourceFile, ExecutionContext ctx) {
+                return SwaggerUsage.of(getCursor(), sourceFile).isBeyondDeclarations();
+            }
+
             @Override
             public J.Annotation visitAnnotation(J.Annotation a, ExecutionContext ctx) {
                 J.Annotation an = super.visitAnnotation(a, ctx);
-                if (!ANNOTATION_MATCHER.matches(an)) {
+                if (!AnnotationTypes.isOfType(an, getCursor().firstEnclosing(JavaSourceFile.class), API_RESPONSE)) {
                     return an;
                 }
+                SwaggerMetrics.annotationMatched(ctx);
 
-                if (annotationAlreadyUpgraded(an)) return an;
-
-                Optional<Expression> mayBeResponseContainer = findArgumentByName(an, "responseContainer");
-                if (!mayBeResponseContainer.isPresent()) {
+                AnnotationArguments arguments = AnnotationArguments.of(an);
+                Expression responseContainer = arguments.argument("responseContainer");
+                if (responseContainer == null || arguments.has(CONTENT_ATTRIBUTE)) {
                     return an;
                 }
 
-                Optional<Expression> mayBeResponse = findArgumentByName(an, "response");
-                J.Assignment as = createNewAssignment(a, mayBeResponse);
-
-                List<Expression> newArguments = ListUtils.concat(as, a.getArguments());
-                mayBeResponse.ifPresent(newArguments::remove);
-                mayBeResponseContainer.ifPresent(newArguments::remove);
+                Expression response = arguments.argument("response");
+                J.Assignment as = createNewAssignment(a, arguments.value("response"), ctx);
+
+                // The new argument takes the place of the first one, and only the new argument is formatted
+                List<Expression> oldArguments = an.getArguments();
+                List<Expression> newArguments = new ArrayList<>(oldArguments.size());
+                Autodetect style = detectedStyle(getCursor().firstEnclosingOrThrow(JavaSourceFile.class));
+                newArguments.add(format(as.withPrefix(oldArguments.get(0).getPrefix()), style == null ? acc.style() : style, ctx));
+                for (int i = 0; i < oldArguments.size(); i++) {
+                    Expression arg = oldArguments.get(i);
+                    if (arg == response || arg == responseContainer) {
+                        continue;
+                    }
+                    newArguments.add(i == 0 ? arg.withPrefix(Space.SINGLE_SPACE) : arg);
+                }
 
                 an = an.withArguments(newArguments);
-                an = autoFormat(an, ctx);
+                SwaggerMetrics.annotationRewritten(ctx);
                 return an;
             }
 
-            private boolean annotationAlreadyUpgraded(J.Annotation an) {
-                return an.getArguments().stream().anyMatch(arg ->
-                        ((J.Identifier) ((J.Assignment) arg).getVariable()).getSimpleName().equalsIgnoreCase("content"));
+            /**
+             * Formats a newly inserted subtree in the style detected across the repository, without walking the
+             * rest of the annotation it is inserted into.
+             */
+            private J.Assignment format(J.Assignment inserted, Autodetect style, ExecutionContext ctx) {
+                JavaSourceFile sourceFile = getCursor().firstEnclosingOrThrow(JavaSourceFile.class);
+                Cursor styled = new Cursor(new Cursor(null, Cursor.ROOT_VALUE), sourceFile.withMarkers(sourceFile.getMarkers().add(style)));
+                return (J.Assignment) new AutoFormatVisitor<ExecutionContext>()
+                        .visitNonNull(inserted, ctx, new Cursor(styled, getCursor().getValue()));
             }
 
-            private Optional<Expression> findArgumentByName(J.Annotation an, String name) {
-                return an.getArguments().stream()
-                        .filter(arg -> ((J.Identifier) ((J.Assignment) arg).getVariable()).getSimpleName().equalsIgnoreCase(name))
-                        .findFirst();
+            private J.Assignment createNewAssignment(J.Annotation a, @Nullable Expression implementation, ExecutionContext ctx) {
+                if (implementation == null || isClassLiteral(implementation)) {
+                    return contentAssignment(CONTENT_ATTRIBUTE, implementation);
+                }
+
+                SwaggerMetrics.templateApplied(ctx);
+                return (J.Assignment) ((J.Annotation) contentWithSchema
+                        .apply(getCursor(), a.getCoordinates().replaceArguments(), CONTENT_ATTRIBUTE, implementation.toString()))
+                        .getArguments().get(0);
             }
+        }));
+    }
 
-            private J.Assignment createNewAssignment(J.Annotation a, Optional<Expression> mayBeResponse) {
-                String templateString = mayBeResponse.isPresent() ?
-                        "#{} = @io.swagger.v3.oas.annotations.media.Content(array = @io.swagger.v3.oas.annotations.media.ArraySchema(uniqueItems = false, schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = #{})))" :
-                        "#{} = @io.swagger.v3.oas.annotations.media.Content(array = @io.swagger.v3.oas.annotations.media.ArraySchema(uniqueItems = false))";
+    /**
+     * The style detected ahead of the run, as a batch runner that parses the sources in parts may attach it to each
+     * of them, so every part is formatted alike.
+     */
+    private static @Nullable Autodetect detectedStyle(JavaSourceFile sourceFile) {
+        return sourceFile.getMarkers().findFirst(Autodetect.class).orElse(null);
+    }
 
-                JavaTemplate.Builder templateBuilder = JavaTemplate.builder(templateString).contextSensitive();
-                Object[] templateArgs = mayBeResponse.map(expression -> new Object[]{attributeName, ((J.Assignment) expression).getAssignment().toString()}).orElseGet(() -> new Object[]{attributeName});
+    /**
+     * Whether the expression is a class literal, in which case it can be moved into the new `Schema` annotation
+     * as is, whether or not its type could be attributed, without having a template parse it again.
+     */
+    private static boolean isClassLiteral(Expression expression) {
+        return expression instanceof J.FieldAccess && "class".equals(((J.FieldAccess) expression).getSimpleName());
+    }
 
-                return (J.Assignment) ((J.Annotation) templateBuilder.build()
-                        .apply(getCursor(), a.getCoordinates().replaceArguments(), templateArgs))
-                        .getArguments().get(0);
-            }
-        });
+    /**
+     * Builds the same tree as the template above, directly:
+     * {@code content = @Content(array = @ArraySchema(uniqueItems = false, schema = @Schema(implementation = X.class)))}
+     */
+    private static J.Assignment contentAssignment(String attributeName, @Nullable Expression implementation) {
+        List<Expression> arraySchemaArguments = new ArrayList<>(2);
+        arraySchemaArguments.add(assignment("uniqueItems",
+                new J.Literal(randomId(), Space.EMPTY, Markers.EMPTY, false, "false", null, JavaType.Primitive.Boolean)));
+        if (implementation != null) {
+            arraySchemaArguments.add(assignment("schema",
+                    annotation(SCHEMA_TYPE, singletonList(assignment("implementation", implementation))))
+                    .withPrefix(Space.SINGLE_SPACE));
+        }
+        J.Annotation arraySchema = annotation(ARRAY_SCHEMA_TYPE, arraySchemaArguments);
+        J.Annotation content = annotation(CONTENT_TYPE, singletonList(assignment("array", arraySchema)));
+        return assignment(attributeName, content);
+    }
+
+    private static J.Assignment assignment(String attributeName, Expression value) {
+        J.Identifier variable = new J.Identifier(randomId(), Space.EMPTY, Markers.EMPTY, emptyList(), attributeName, null, null);
+        return new J.Assignment(randomId(), Space.EMPTY, Markers.EMPTY, variable,
+                new JLeftPadded<>(Space.SINGLE_SPACE, value.withPrefix(Space.SINGLE_SPACE), Markers.EMPTY), value.getType());
+    }
+
+    private static J.Annotation annotation(String fullyQualifiedTypeName, List<Expression> arguments) {
+        List<JRightPadded<Expression>> paddedArguments = new ArrayList<>(arguments.size());
+        for (Expression argument : arguments) {
+            paddedArguments.add(JRightPadded.build(argument));
+        }
+        return new J.Annotation(randomId(), Space.EMPTY, Markers.EMPTY,
+                TypeTree.<J.FieldAccess>build(fullyQualifiedTypeName).withType(JavaType.ShallowClass.build(fullyQualifiedTypeName)),
+                JContainer.build(Space.EMPTY, paddedArguments, Markers.EMPTY));
     }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+
+/**
+ * A {@link JavaIsoVisitor} that only descends into declarations.
+ * <p>
+ * Swagger annotations are usually placed on classes, methods, fields and parameters, so method bodies, initializer
+ * blocks, lambdas and variable initializers are not visited, unless {@link #visitsBodies} tells otherwise for a source
+ * file, as when {@link SwaggerUsage#isBeyondDeclarations()} finds a Swagger type referred to from one of them.
+ * Annotation arguments are still visited, so nested annotations like `@ApiResponse` inside `@ApiResponses` are.
+ * When {@link SwaggerMetrics} are enabled, the nodes visited are counted towards the current source file.
+ */
+class DeclarationVisitor<P> extends JavaIsoVisitor<P> {
+
+    @Nullable
+    private SwaggerMetrics.Counts counts;
+
+    private boolean bodies;
+
+    /**
+     * Whether the method bodies, initializers and lambdas of a source file are visited too, as when something the
+     * recipe changes is referred to from inside them.
+     */
+    protected boolean visitsBodies(JavaSourceFile sourceFile, P p) {
+        return false;
+    }
+
+    @Override
+    public @Nullable J visit(@Nullable Tree tree, P p) {
+        if (tree instanceof JavaSourceFile) {
+            counts = p instanceof ExecutionContext ? SwaggerMetrics.currentFile((ExecutionContext) p) : null;
+            bodies = visitsBodies((JavaSourceFile) tree, p);
+        }
+        return super.visit(tree, p);
+    }
+
+    @Override
+    public J preVisit(J tree, P p) {
+        if (counts != null) {
+            counts.nodesVisited++;
+        }
+        return super.preVisit(tree, p);
+    }
+
+    @Override
+    public J.Block visitBlock(J.Block block, P p) {
+        // A class body holds declarations; any other block is a method body, an initializer or a lambda body
+        if (bodies || getCursor().getParentTreeCursor().getValue() instanceof J.ClassDeclaration) {
+            return super.visitBlock(block, p);
+        }
+        return block;
+    }
+
+    @Override
+    public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, P p) {
+        // The annotations of a field or parameter are on the enclosing J.VariableDeclarations
+        return bodies ? super.visitVariable(variable, p) : variable;
+    }
+}
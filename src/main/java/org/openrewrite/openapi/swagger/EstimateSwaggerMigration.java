@@ -0,0 +1,182 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Value;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.Recipe;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.marker.JavaProject;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.openapi.swagger.table.SwaggerMigrationEstimate;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Counts what `SwaggerToOpenAPI`, preceded by a {@link RemoveClazzRecipe}, would change in each source file, with
+ * the same matchers and mappings as those recipes, but without building any of the replacement trees. Every source
+ * file is left as it is.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class EstimateSwaggerMigration extends Recipe {
+    private static final String DEFAULT_TYPE_PACKAGE = "springfox(\\..+)?";
+    private static final String SWAGGER_1_API_RESPONSE = "io.swagger.annotations.ApiResponse";
+    private static final String OPENAPI_3_API_RESPONSE = "io.swagger.v3.oas.annotations.responses.ApiResponse";
+
+    @Option(displayName = "Java Type package regexes",
+            description = "Class would be deleted when usage of types from a package matching any of these regexes found. " +
+                          "Defaults to the springfox packages.",
+            example = "springfox\\.documentation(\\..+)?",
+            required = false)
+    @Nullable
+    List<String> typePackage;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    PackageMatcher packageMatcher;
+
+    transient SwaggerMigrationEstimate estimate = new SwaggerMigrationEstimate(this);
+
+    @JsonCreator
+    public EstimateSwaggerMigration(@Nullable @JsonProperty("typePackage") List<String> typePackage) {
+        this.typePackage = typePackage;
+        this.packageMatcher = new PackageMatcher(typePackage == null ? Collections.singletonList(DEFAULT_TYPE_PACKAGE) : typePackage);
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Estimate the Swagger to OpenAPI migration";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Counts, per source file, the Swagger annotations and attributes that migrating to OpenAPI would change " +
+               "or drop, and the source files that would be deleted, without making any changes.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof JavaSourceFile)) {
+                    return tree;
+                }
+                JavaSourceFile sourceFile = (JavaSourceFile) tree;
+                String sourceProject = sourceFile.getMarkers().findFirst(JavaProject.class)
+                        .map(JavaProject::getProjectName)
+                        .orElse("");
+                for (J.Import anImport : sourceFile.getImports()) {
+                    if (packageMatcher.matches(anImport.getPackageName())) {
+                        estimate.insertRow(ctx, new SwaggerMigrationEstimate.Row(sourceProject,
+                                sourceFile.getSourcePath().toString(), true, 0, 0, 0, 0, 0));
+                        return tree;
+                    }
+                }
+
+                SwaggerUsage usage = SwaggerUsage.of(sourceFile);
+                if (!usage.usesSwagger1() && usage.getApiResponses() == 0) {
+                    return tree;
+                }
+                Counts counts = new Counts();
+                new DeclarationVisitor<Counts>() {
+                    @Override
+                    protected boolean visitsBodies(JavaSourceFile sourceFile, Counts c) {
+                        return usage.isBeyondDeclarations();
+                    }
+
+                    @Override
+                    public J.Annotation visitAnnotation(J.Annotation annotation, Counts c) {
+                        count(annotation, sourceFile, c);
+                        return super.visitAnnotation(annotation, c);
+                    }
+                }.visit(sourceFile, counts);
+                if (counts.any()) {
+                    estimate.insertRow(ctx, new SwaggerMigrationEstimate.Row(sourceProject,
+                            sourceFile.getSourcePath().toString(), false, counts.annotationsMigrated,
+                            counts.attributesRenamed, counts.attributesDropped, counts.responseContainersConverted,
+                            counts.responseCodesConverted));
+                }
+                return tree;
+            }
+        };
+    }
+
+    private static void count(J.Annotation annotation, JavaSourceFile sourceFile, Counts counts) {
+        String type = AnnotationTypes.fullyQualifiedName(annotation, sourceFile);
+        if (type == null) {
+            return;
+        }
+        AnnotationMapping mapping = AnnotationMapping.SWAGGER_1_TO_OPENAPI_3.get(type);
+        if (mapping != null) {
+            counts.annotationsMigrated++;
+            if (annotation.getArguments() != null) {
+                for (Expression argument : annotation.getArguments()) {
+                    String attribute = AnnotationArguments.name(argument);
+                    if (attribute == null) {
+                        continue;
+                    }
+                    if (mapping.getRemovedAttributes().contains(attribute)) {
+                        counts.attributesDropped++;
+                    } else if (mapping.getRenamedAttributes().containsKey(attribute)) {
+                        counts.attributesRenamed++;
+                    }
+                }
+            }
+        }
+
+        // As ConvertApiResponseCodesToStrings and ConvertApiResponseContainerToContent would see the annotation after
+        // MigrateSwaggerAnnotations renamed `code` to `responseCode`
+        boolean swagger1 = SWAGGER_1_API_RESPONSE.equals(type);
+        if (swagger1 || OPENAPI_3_API_RESPONSE.equals(type)) {
+            AnnotationArguments arguments = AnnotationArguments.of(annotation);
+            Expression responseCode = arguments.value(swagger1 ? "code" : "responseCode");
+            if (responseCode instanceof J.Literal && ((J.Literal) responseCode).getValue() instanceof Number) {
+                counts.responseCodesConverted++;
+            }
+            if (arguments.has("responseContainer") && !arguments.has("content")) {
+                counts.responseContainersConverted++;
+            }
+        }
+    }
+
+    private static class Counts {
+        int annotationsMigrated;
+        int attributesRenamed;
+        int attributesDropped;
+        int responseContainersConverted;
+        int responseCodesConverted;
+
+        boolean any() {
+            return annotationsMigrated + attributesRenamed + attributesDropped + responseContainersConverted +
+                   responseCodesConverted > 0;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.tree.JavaSourceFile;
+
+public class IndexSwaggerUsages extends ScanningRecipe<SwaggerUsageIndex> {
+
+    @Override
+    public String getDisplayName() {
+        return "Index Swagger usages";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Records once, before any other recipe makes changes, which Swagger and springfox types each source file " +
+               "references and how many `@ApiResponse` annotations it has. The other Swagger recipes in the same run use " +
+               "this index as their precondition, so source files with nothing to migrate are not visited again.";
+    }
+
+    @Override
+    public SwaggerUsageIndex getInitialValue(ExecutionContext ctx) {
+        return new SwaggerUsageIndex();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(SwaggerUsageIndex acc) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof JavaSourceFile) {
+                    JavaSourceFile sourceFile = (JavaSourceFile) tree;
+                    // The root cursor is new for every cycle of every run, so a reused execution context never
+                    // hands a later run the index of an earlier one
+                    getCursor().getRoot().putMessage(SwaggerUsageIndex.class.getName(), acc);
+                    acc.put(sourceFile.getSourcePath(), SwaggerUsage.of(sourceFile));
+                }
+                return tree;
+            }
+        };
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Recipe;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.ChangeType;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.Markers;
+import org.openrewrite.openapi.swagger.table.SwaggerRecipeMetrics;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Collections.emptyList;
+import static org.openrewrite.Tree.randomId;
+
+public class MigrateSwaggerAnnotations extends Recipe {
+
+    private final transient SwaggerRecipeMetrics metrics = new SwaggerRecipeMetrics(this);
+
+    @Override
+    public String getDisplayName() {
+        return "Migrate Swagger 1.x annotations to OpenAPI 3";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Changes every Swagger 1.x annotation to its OpenAPI 3 counterpart and renames or removes its attributes " +
+               "in a single pass over each source file, using the same mappings as the individual `Migrate*` recipes.";
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        // https://github.com/swagger-api/swagger-core/wiki/Swagger-2.X---Annotations
+        return SwaggerMetrics.instrument(this, metrics, Preconditions.check(
+                SwaggerUsage.precondition(SwaggerUsage::usesSwagger1),
+                new DeclarationVisitor<ExecutionContext>() {
+                    @Nullable
+                    private SwaggerUsage usage;
+
+                    @Override
+                    protected boolean visitsBodies(JavaSourceFile sourceFile, ExecutionContext ctx) {
+                        usage = SwaggerUsage.of(getCursor(), sourceFile);
+                        return usage.isBeyondDeclarations();
+                    }
+
+                    @Override
+                    public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                        if (usage != null && usage.isBeyondDeclarations()) {
+                            // The other references to the old types, like `ApiResponse.class`, change as with the
+                            // `ChangeType` steps of the `Migrate*` recipes, which also settles their imports
+                            for (AnnotationMapping mapping : AnnotationMapping.SWAGGER_1_TO_OPENAPI_3.values()) {
+                                if (usage.usesType(mapping.getOldFullyQualifiedTypeName())) {
+                                    doAfterVisit(new ChangeType(mapping.getOldFullyQualifiedTypeName(),
+                                            mapping.getNewFullyQualifiedTypeName(), null).getVisitor());
+                                }
+                            }
+                        }
+                        return super.visitCompilationUnit(cu, ctx);
+                    }
+
+                    @Override
+                    public J.Annotation visitAnnotation(J.Annotation annotation, ExecutionContext ctx) {
+                        J.Annotation an = super.visitAnnotation(annotation, ctx);
+                        String type = AnnotationTypes.fullyQualifiedName(an, getCursor().firstEnclosing(JavaSourceFile.class));
+                        AnnotationMapping mapping = type == null ? null : AnnotationMapping.SWAGGER_1_TO_OPENAPI_3.get(type);
+                        if (mapping == null) {
+                            return an;
+                        }
+                        SwaggerMetrics.annotationMatched(ctx);
+
+                        an = an.withArguments(removeAttributes(renameAttributes(an.getArguments(), mapping), mapping));
+                        an = an.withAnnotationType(changeType(an.getAnnotationType(), mapping.getNewFullyQualifiedTypeName()));
+                        maybeRemoveImport(mapping.getOldFullyQualifiedTypeName());
+                        maybeAddImport(mapping.getNewFullyQualifiedTypeName());
+                        SwaggerMetrics.annotationRewritten(ctx);
+                        return an;
+                    }
+                }
+        ));
+    }
+
+    private static @Nullable List<Expression> renameAttributes(@Nullable List<Expression> arguments, AnnotationMapping mapping) {
+        if (mapping.getRenamedAttributes().isEmpty()) {
+            return arguments;
+        }
+        return ListUtils.map(arguments, arg -> {
+            if (arg instanceof J.Assignment) {
+                J.Assignment assignment = (J.Assignment) arg;
+                if (assignment.getVariable() instanceof J.Identifier) {
+                    J.Identifier variable = (J.Identifier) assignment.getVariable();
+                    String newAttributeName = mapping.getRenamedAttributes().get(variable.getSimpleName());
+                    if (newAttributeName != null) {
+                        return assignment.withVariable(variable.withSimpleName(newAttributeName));
+                    }
+                }
+                return arg;
+            }
+            String newAttributeName = mapping.getRenamedAttributes().get(AnnotationArguments.VALUE);
+            if (newAttributeName != null && !(arg instanceof J.Empty)) {
+                // An implicit `value` attribute, as in `@ApiOperation("Find pets")`
+                J.Identifier name = new J.Identifier(randomId(), arg.getPrefix(), Markers.EMPTY, emptyList(),
+                        newAttributeName, arg.getType(), null);
+                return new J.Assignment(randomId(), Space.EMPTY, arg.getMarkers(), name,
+                        new JLeftPadded<>(Space.SINGLE_SPACE, arg.withPrefix(Space.SINGLE_SPACE), Markers.EMPTY), arg.getType());
+            }
+            return arg;
+        });
+    }
+
+    private static @Nullable List<Expression> removeAttributes(@Nullable List<Expression> arguments, AnnotationMapping mapping) {
+        if (mapping.getRemovedAttributes().isEmpty()) {
+            return arguments;
+        }
+        AtomicBoolean passedFirstAttribute = new AtomicBoolean();
+        AtomicBoolean trimNextPrefix = new AtomicBoolean();
+        return ListUtils.map(arguments, arg -> {
+            try {
+                String attributeName = AnnotationArguments.name(arg);
+                if (attributeName != null && mapping.getRemovedAttributes().contains(attributeName)) {
+                    if (!passedFirstAttribute.get()) {
+                        trimNextPrefix.set(true);
+                    }
+                    return null;
+                }
+                if (trimNextPrefix.getAndSet(false)) {
+                    return arg.withPrefix(arg.getPrefix().withWhitespace(""));
+                }
+                return arg;
+            } finally {
+                passedFirstAttribute.set(true);
+            }
+        });
+    }
+
+    private static NameTree changeType(NameTree annotationType, String newFullyQualifiedTypeName) {
+        JavaType.ShallowClass newType = JavaType.ShallowClass.build(newFullyQualifiedTypeName);
+        if (annotationType instanceof J.Identifier) {
+            return ((J.Identifier) annotationType).withSimpleName(newType.getClassName()).withType(newType);
+        }
+        if (annotationType instanceof J.FieldAccess) {
+            // A fully qualified annotation, as in `@io.swagger.annotations.ApiOperation`
+            return TypeTree.<J.FieldAccess>build(newFullyQualifiedTypeName)
+                    .withPrefix(annotationType.getPrefix())
+                    .withType(newType);
+        }
+        return annotationType;
+    }
+}
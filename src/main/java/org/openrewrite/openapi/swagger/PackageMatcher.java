@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.openrewrite.internal.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Matches package names against a set of regular expressions, compiled once.
+ * <p>
+ * Patterns that only name a package, optionally followed by a subpackage suffix such as `(\..+)?`,
+ * are stored in a trie of package segments, so a lookup costs one step per segment of the package name
+ * however many patterns are configured. Any other pattern is a real regular expression, and all of those
+ * are combined into a single alternation. A package name matches when it fully matches any pattern.
+ */
+final class PackageMatcher {
+    private static final String[] OR_SUBPACKAGES_SUFFIXES = {"(\\..+)?", "(\\..*)?", "(\\.\\w+)*"};
+    private static final String[] SUBPACKAGES_ONLY_SUFFIXES = {"\\..+", "\\..*"};
+
+    private final Node root = new Node();
+
+    @Nullable
+    private final Pattern regex;
+
+    PackageMatcher(List<String> patterns) {
+        List<String> regexes = new ArrayList<>();
+        for (String pattern : patterns) {
+            if (!addToTrie(pattern)) {
+                regexes.add("(?:" + pattern + ")");
+            }
+        }
+        this.regex = regexes.isEmpty() ? null : Pattern.compile(String.join("|", regexes));
+    }
+
+    boolean matches(String packageName) {
+        Node node = root;
+        int start = 0;
+        while (true) {
+            int end = packageName.indexOf('.', start);
+            node = node.children.get(end < 0 ? packageName.substring(start) : packageName.substring(start, end));
+            if (node == null) {
+                break;
+            }
+            if (end < 0 ? node.exact : node.subpackages) {
+                return true;
+            }
+            if (end < 0) {
+                break;
+            }
+            start = end + 1;
+        }
+        return regex != null && regex.matcher(packageName).matches();
+    }
+
+    private boolean addToTrie(String pattern) {
+        boolean exact = true;
+        boolean subpackages = false;
+        String literal = pattern;
+        for (String suffix : OR_SUBPACKAGES_SUFFIXES) {
+            if (pattern.endsWith(suffix)) {
+                literal = pattern.substring(0, pattern.length() - suffix.length());
+                subpackages = true;
+                break;
+            }
+        }
+        if (!subpackages) {
+            for (String suffix : SUBPACKAGES_ONLY_SUFFIXES) {
+                if (pattern.endsWith(suffix)) {
+                    literal = pattern.substring(0, pattern.length() - suffix.length());
+                    exact = false;
+                    subpackages = true;
+                    break;
+                }
+            }
+        }
+
+        String[] segments = literal.split("\\\\\\.", -1);
+        for (String segment : segments) {
+            if (!isIdentifier(segment)) {
+                return false;
+            }
+        }
+
+        Node node = root;
+        for (String segment : segments) {
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+        }
+        node.exact |= exact;
+        node.subpackages |= subpackages;
+        return true;
+    }
+
+    private static boolean isIdentifier(String segment) {
+        // `$` is a valid identifier character, but an anchor in a regular expression
+        if (segment.isEmpty() || Character.isDigit(segment.charAt(0))) {
+            return false;
+        }
+        for (int i = 0; i < segment.length(); i++) {
+            char c = segment.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static class Node {
+        final Map<String, Node> children = new HashMap<>();
+
+        /**
+         * The package named by the path to this node matches.
+         */
+        boolean exact;
+
+        /**
+         * Every subpackage of the package named by the path to this node matches.
+         */
+        boolean subpackages;
+    }
+}
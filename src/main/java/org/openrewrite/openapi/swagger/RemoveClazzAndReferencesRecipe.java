@@ -0,0 +1,448 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Value;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Option;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.lang.NonNull;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.*;
+import org.openrewrite.marker.SearchResult;
+import org.openrewrite.openapi.swagger.table.SwaggerRecipeMetrics;
+
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Like {@link RemoveClazzRecipe}, deletes every compilation unit that imports a type from a matching package, and
+ * in the same run removes what refers to the deleted classes from the remaining sources: their imports, class
+ * literals in annotation arguments, as in `@Import(SwaggerConfig.class)`, and the fields of their type, methods
+ * returning them and `@Bean` methods taking them as a parameter that nothing else in the class uses.
+ * <p>
+ * Whatever cannot be removed without changing the code around it is left in place and marked instead: those members
+ * when they are still used, other parameters of their type, and local variables, instantiations, casts, class
+ * literals and method calls in method bodies that refer to them.
+ * <p>
+ * The scanning phase only records the deleted files and the names of their top-level classes, so the index grows
+ * with the number of deleted classes, not with the size of the repository. Whether a remaining source file refers to
+ * one of them is decided from its own imports and package when it is visited.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class RemoveClazzAndReferencesRecipe extends ScanningRecipe<RemoveClazzAndReferencesRecipe.Accumulator> {
+    private static final String BEAN = "org.springframework.context.annotation.Bean";
+    private static final String REFERENCE = "Reference to a removed class";
+
+    @Option(displayName = "Java Type package regexes",
+            description = "Class will be deleted when usage of types from a package matching any of these regexes found, " +
+                          "and references to it removed",
+            example = "springfox\\.documentation(\\..+)?")
+    @NonNull
+    List<String> typePackage;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    PackageMatcher packageMatcher;
+
+    transient SwaggerRecipeMetrics metrics = new SwaggerRecipeMetrics(this);
+
+    /**
+     * Also accepts a single regex, as `typePackage` took before it was a list.
+     */
+    @JsonCreator
+    public RemoveClazzAndReferencesRecipe(@NonNull @JsonProperty("typePackage")
+            @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY) List<String> typePackage) {
+        this.typePackage = typePackage;
+        this.packageMatcher = new PackageMatcher(typePackage);
+    }
+
+    public RemoveClazzAndReferencesRecipe(String... typePackage) {
+        this(Arrays.asList(typePackage));
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Remove java class if it uses java type from specified package, and references to it";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Remove java class if it uses java type from specified package. Imports of the removed classes, class " +
+               "literals of them in annotation arguments, and unused fields of their type, methods returning them and " +
+               "`@Bean` methods taking them as a parameter are removed from the other source files in the same run. " +
+               "Other references to them, in parameters and method bodies, are marked.";
+    }
+
+    public static class Accumulator {
+        final Set<Path> removedFiles = ConcurrentHashMap.newKeySet();
+
+        /**
+         * The fully qualified names of the top-level classes of the removed files, interned.
+         */
+        final Set<String> removedTypes = ConcurrentHashMap.newKeySet();
+
+        /**
+         * The packages of the removed classes, to tell quickly which source files may refer to them.
+         */
+        final Set<String> removedPackages = ConcurrentHashMap.newKeySet();
+
+        boolean mayReferToRemovedType(J.CompilationUnit cu) {
+            if (removedPackages.contains(packageName(cu))) {
+                return true;
+            }
+            for (J.Import anImport : cu.getImports()) {
+                if (removedTypes.contains(anImport.getTypeName()) || removedPackages.contains(anImport.getPackageName())) {
+                    return true;
+                }
+            }
+            for (JavaType type : cu.getTypesInUse().getTypesInUse()) {
+                JavaType.FullyQualified fq = TypeUtils.asFullyQualified(type);
+                if (fq != null && removedTypes.contains(fq.getFullyQualifiedName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        return new Accumulator();
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree instanceof J.CompilationUnit && isRemoved((J.CompilationUnit) tree)) {
+                    J.CompilationUnit cu = (J.CompilationUnit) tree;
+                    String packageName = packageName(cu);
+                    acc.removedFiles.add(cu.getSourcePath());
+                    acc.removedPackages.add(packageName.intern());
+                    for (J.ClassDeclaration classDecl : cu.getClasses()) {
+                        String simpleName = classDecl.getSimpleName();
+                        acc.removedTypes.add((packageName.isEmpty() ? simpleName : packageName + "." + simpleName).intern());
+                    }
+                }
+                return tree;
+            }
+        };
+    }
+
+    private static String packageName(J.CompilationUnit cu) {
+        return cu.getPackageDeclaration() == null ? "" : cu.getPackageDeclaration().getPackageName();
+    }
+
+    private boolean isRemoved(J.CompilationUnit cu) {
+        for (J.Import anImport : cu.getImports()) {
+            if (packageMatcher.matches(anImport.getPackageName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        return SwaggerMetrics.instrument(this, metrics, new DeclarationVisitor<ExecutionContext>() {
+            @Override
+            protected boolean visitsBodies(JavaSourceFile sourceFile, ExecutionContext ctx) {
+                // Only the source files that may refer to a removed class get this far, and they may do so anywhere
+                return true;
+            }
+
+            @Override
+            public @Nullable J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+                if (acc.removedFiles.contains(cu.getSourcePath())) {
+                    return null;
+                }
+                if (acc.removedTypes.isEmpty() || !acc.mayReferToRemovedType(cu)) {
+                    return cu;
+                }
+                J.CompilationUnit c = super.visitCompilationUnit(cu, ctx);
+                return c.withImports(removeAll(c.getImports(), anImport -> acc.removedTypes.contains(anImport.getTypeName())));
+            }
+
+            @Override
+            public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, ExecutionContext ctx) {
+                J.VariableDeclarations mv = super.visitVariableDeclarations(multiVariable, ctx);
+                if (multiVariable.getTypeExpression() == null || !isRemovedType(multiVariable.getTypeExpression())) {
+                    return mv;
+                }
+                Cursor parent = getCursor().getParentTreeCursor();
+                if (parent.getValue() instanceof J.Block && parent.getParentTreeCursor().getValue() instanceof J.ClassDeclaration) {
+                    // A field, which is removed along with the class if nothing uses it
+                    return mv;
+                }
+                // A parameter cannot be removed without changing the method body and its callers, nor a local variable
+                // without changing the code that uses it
+                return SearchResult.found(mv, parent.getValue() instanceof J.MethodDeclaration ?
+                        "Parameter of a removed class" : "Variable of a removed class");
+            }
+
+            @Override
+            public J.NewClass visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
+                J.NewClass n = super.visitNewClass(newClass, ctx);
+                return newClass.getClazz() != null && isRemovedType(newClass.getClazz()) ? SearchResult.found(n, REFERENCE) : n;
+            }
+
+            @Override
+            public J.TypeCast visitTypeCast(J.TypeCast typeCast, ExecutionContext ctx) {
+                J.TypeCast t = super.visitTypeCast(typeCast, ctx);
+                return isRemovedType(typeCast.getClazz().getTree()) ? SearchResult.found(t, REFERENCE) : t;
+            }
+
+            @Override
+            public J.FieldAccess visitFieldAccess(J.FieldAccess fieldAccess, ExecutionContext ctx) {
+                J.FieldAccess f = super.visitFieldAccess(fieldAccess, ctx);
+                // A class literal in an annotation argument is removed from the annotation instead
+                return isRemovedClassLiteral(fieldAccess) && getCursor().firstEnclosing(J.Annotation.class) == null ?
+                        SearchResult.found(f, REFERENCE) : f;
+            }
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+                JavaType.FullyQualified returnType = method.getMethodType() == null ? null :
+                        TypeUtils.asFullyQualified(method.getMethodType().getReturnType());
+                if (returnType != null && acc.removedTypes.contains(returnType.getFullyQualifiedName()) ||
+                    method.getSelect() != null && isRemovedType(method.getSelect())) {
+                    return SearchResult.found(m, REFERENCE);
+                }
+                return m;
+            }
+
+            @Override
+            public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
+                J.ClassDeclaration cd = removeMembers(super.visitClassDeclaration(classDecl, ctx));
+                if (cd.getLeadingAnnotations().isEmpty() && !classDecl.getLeadingAnnotations().isEmpty()) {
+                    // Keep the class declaration where its first annotation was
+                    Space prefix = classDecl.getLeadingAnnotations().get(0).getPrefix();
+                    cd = cd.getModifiers().isEmpty() ?
+                            cd.getPadding().withKind(cd.getPadding().getKind().withPrefix(prefix)) :
+                            cd.withModifiers(ListUtils.mapFirst(cd.getModifiers(), modifier -> modifier.withPrefix(prefix)));
+                } else if (!cd.getLeadingAnnotations().isEmpty() && cd.getLeadingAnnotations().get(0) != classDecl.getLeadingAnnotations().get(0)) {
+                    Space prefix = classDecl.getLeadingAnnotations().get(0).getPrefix();
+                    cd = cd.withLeadingAnnotations(ListUtils.mapFirst(cd.getLeadingAnnotations(), a -> a.withPrefix(prefix)));
+                }
+                return cd;
+            }
+
+            @Override
+            public @Nullable J.Annotation visitAnnotation(J.Annotation annotation, ExecutionContext ctx) {
+                J.Annotation a = super.visitAnnotation(annotation, ctx);
+                if (a.getArguments() == null || a.getArguments().isEmpty()) {
+                    return a;
+                }
+                List<Expression> arguments = removeAll(a.getArguments(), argument -> {
+                    Expression value = argument instanceof J.Assignment ? ((J.Assignment) argument).getAssignment() : argument;
+                    return isRemovedClassLiteral(value) || value instanceof J.NewArray && removeClassLiterals((J.NewArray) value) == null;
+                });
+                arguments = ListUtils.map(arguments, argument -> {
+                    if (argument instanceof J.Assignment && ((J.Assignment) argument).getAssignment() instanceof J.NewArray) {
+                        J.Assignment assignment = (J.Assignment) argument;
+                        return assignment.withAssignment(removeClassLiterals((J.NewArray) assignment.getAssignment()));
+                    }
+                    return argument instanceof J.NewArray ? removeClassLiterals((J.NewArray) argument) : argument;
+                });
+                if (arguments == a.getArguments()) {
+                    return a;
+                }
+                if (arguments.isEmpty()) {
+                    // An annotation that only named a removed class, as in `@Import(SwaggerConfig.class)`, goes with it
+                    for (Expression argument : a.getArguments()) {
+                        if (AnnotationArguments.VALUE.equals(AnnotationArguments.name(argument))) {
+                            return null;
+                        }
+                    }
+                    return a.withArguments(null);
+                }
+                return a.withArguments(arguments);
+            }
+
+            /**
+             * Removes the members of a class that are of a removed class and that no other member uses, and marks the
+             * ones that are still used.
+             */
+            private J.ClassDeclaration removeMembers(J.ClassDeclaration cd) {
+                List<Statement> statements = cd.getBody().getStatements();
+                Set<Statement> members = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (Statement statement : statements) {
+                    if (isMemberOfRemovedClass(statement)) {
+                        members.add(statement);
+                    }
+                }
+                if (members.isEmpty()) {
+                    return cd;
+                }
+
+                // A member is used when a member that stays refers to it by name
+                References references = new References();
+                for (Statement statement : statements) {
+                    if (!members.contains(statement)) {
+                        references.collect(statement);
+                    }
+                }
+                Set<Statement> used = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (boolean more = true; more; ) {
+                    more = false;
+                    for (Statement member : members) {
+                        if (!used.contains(member) && references.refersTo(member)) {
+                            used.add(member);
+                            references.collect(member);
+                            more = true;
+                        }
+                    }
+                }
+
+                List<Statement> left = removeAll(statements, statement -> members.contains(statement) && !used.contains(statement));
+                left = ListUtils.map(left, statement -> used.contains(statement) ?
+                        SearchResult.found(statement, "Used member of a removed class") : statement);
+                return cd.withBody(cd.getBody().withStatements(left));
+            }
+
+            /**
+             * Tells fields of a removed class, methods returning one and `@Bean` methods consuming one, whose bean no
+             * longer exists.
+             */
+            private boolean isMemberOfRemovedClass(Statement statement) {
+                if (statement instanceof J.VariableDeclarations) {
+                    TypeTree typeExpression = ((J.VariableDeclarations) statement).getTypeExpression();
+                    return typeExpression != null && isRemovedType(typeExpression);
+                }
+                if (statement instanceof J.MethodDeclaration) {
+                    J.MethodDeclaration method = (J.MethodDeclaration) statement;
+                    return method.getReturnTypeExpression() != null && isRemovedType(method.getReturnTypeExpression()) ||
+                           isBeanMethod(method) && hasRemovedParameter(method);
+                }
+                return false;
+            }
+
+            /**
+             * @return the array without the class literals of removed classes, or {@code null} if none are left.
+             */
+            private @Nullable J.NewArray removeClassLiterals(J.NewArray array) {
+                if (array.getInitializer() == null) {
+                    return array;
+                }
+                List<Expression> initializer = removeAll(array.getInitializer(), this::isRemovedClassLiteral);
+                return initializer.isEmpty() ? null : array.withInitializer(initializer);
+            }
+
+            private boolean isRemovedClassLiteral(Expression expression) {
+                return expression instanceof J.FieldAccess &&
+                       "class".equals(((J.FieldAccess) expression).getSimpleName()) &&
+                       isRemovedType(((J.FieldAccess) expression).getTarget());
+            }
+
+            private boolean isBeanMethod(J.MethodDeclaration method) {
+                JavaSourceFile sourceFile = getCursor().firstEnclosing(JavaSourceFile.class);
+                for (J.Annotation annotation : method.getLeadingAnnotations()) {
+                    if (BEAN.equals(AnnotationTypes.fullyQualifiedName(annotation.getAnnotationType(), sourceFile, BEAN::equals))) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            private boolean hasRemovedParameter(J.MethodDeclaration method) {
+                for (Statement parameter : method.getParameters()) {
+                    if (parameter instanceof J.VariableDeclarations &&
+                        ((J.VariableDeclarations) parameter).getTypeExpression() != null &&
+                        isRemovedType(((J.VariableDeclarations) parameter).getTypeExpression())) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            private boolean isRemovedType(J typeName) {
+                String type = AnnotationTypes.fullyQualifiedName(typeName, getCursor().firstEnclosing(JavaSourceFile.class),
+                        acc.removedTypes::contains);
+                return type != null && acc.removedTypes.contains(type);
+            }
+        });
+    }
+
+    /**
+     * The names of the variables and methods that some members of a class refer to.
+     */
+    private static class References {
+        final Set<String> variables = new HashSet<>();
+        final Set<String> methods = new HashSet<>();
+
+        void collect(J tree) {
+            new JavaIsoVisitor<Integer>() {
+                @Override
+                public J.Identifier visitIdentifier(J.Identifier identifier, Integer p) {
+                    Object parent = getCursor().getParentTreeCursor().getValue();
+                    if (parent instanceof J.MethodInvocation && ((J.MethodInvocation) parent).getName() == identifier ||
+                        parent instanceof J.MemberReference && ((J.MemberReference) parent).getReference() == identifier) {
+                        methods.add(identifier.getSimpleName());
+                    } else if (!(parent instanceof J.MethodDeclaration) &&
+                               !(parent instanceof J.VariableDeclarations.NamedVariable &&
+                                 ((J.VariableDeclarations.NamedVariable) parent).getName() == identifier)) {
+                        variables.add(identifier.getSimpleName());
+                    }
+                    return identifier;
+                }
+            }.visit(tree, 0);
+        }
+
+        boolean refersTo(Statement member) {
+            if (member instanceof J.MethodDeclaration) {
+                return methods.contains(((J.MethodDeclaration) member).getSimpleName());
+            }
+            for (J.VariableDeclarations.NamedVariable variable : ((J.VariableDeclarations) member).getVariables()) {
+                if (variables.contains(variable.getSimpleName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Removes the matching elements, and gives the first element left the prefix of the first element if that one
+     * was removed.
+     */
+    private static <T extends J> List<T> removeAll(List<T> elements, Predicate<T> removed) {
+        List<T> left = ListUtils.map(elements, element -> removed.test(element) ? null : element);
+        if (left != elements && !left.isEmpty() && left.get(0) != elements.get(0)) {
+            Space prefix = elements.get(0).getPrefix();
+            left = ListUtils.mapFirst(left, element -> element.withPrefix(prefix));
+        }
+        return left;
+    }
+}
@@ -17,30 +17,53 @@
 package org.openrewrite.openapi.swagger;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import org.openrewrite.internal.lang.NonNull;
 import lombok.Value;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Option;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.openapi.swagger.table.SwaggerRecipeMetrics;
+
+import java.util.Arrays;
+import java.util.List;
 
 @Value
 @EqualsAndHashCode(callSuper=false)
 public class RemoveClazzRecipe extends Recipe{
 
-    @Option(displayName = "Java Type package regex",
-            description = "Class will be deleted when usage of types from this package found",
+    @Option(displayName = "Java Type package regexes",
+            description = "Class will be deleted when usage of types from a package matching any of these regexes found",
             example = "springfox\\.documentation(\\..+)?")
     @NonNull
-    String typePackage;
+    List<String> typePackage;
+
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    PackageMatcher packageMatcher;
+
+    transient SwaggerRecipeMetrics metrics = new SwaggerRecipeMetrics(this);
 
+    /**
+     * Also accepts a single regex, as `typePackage` took before it was a list.
+     */
     @JsonCreator
-    public RemoveClazzRecipe(@NonNull @JsonProperty("typePackage") String typePackage) {
+    public RemoveClazzRecipe(@NonNull @JsonProperty("typePackage")
+            @JsonFormat(with = JsonFormat.Feature.ACCEPT_SINGLE_VALUE_AS_ARRAY) List<String> typePackage) {
         this.typePackage = typePackage;
+        this.packageMatcher = new PackageMatcher(typePackage);
+    }
+
+    public RemoveClazzRecipe(String... typePackage) {
+        this(Arrays.asList(typePackage));
     }
 
     @Override
@@ -55,14 +78,17 @@ public class RemoveClazzRecipe extends Recipe{
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaIsoVisitor<ExecutionContext>() {
+        return SwaggerMetrics.instrument(this, metrics, new DeclarationVisitor<ExecutionContext>() {
             @Override
             public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext executionContext) {
-                if (cu.getImports().stream().anyMatch(anImport -> anImport.getPackageName().matches(typePackage))) {
-                    return null;
+                for (J.Import anImport : cu.getImports()) {
+                    if (packageMatcher.matches(anImport.getPackageName())) {
+                        return null;
+                    }
                 }
-                return super.visitCompilationUnit(cu, executionContext);
+                // Only the imports matter, so there is no need to visit the rest of the compilation unit
+                return cu;
             }
-        };
+        });
     }
 }
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.openrewrite.DataTable;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.openapi.swagger.table.SwaggerRecipeMetrics;
+import org.openrewrite.openapi.swagger.table.SwaggerRecipeMetricsSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Opt-in instrumentation of the recipes in this module.
+ * <p>
+ * When enabled on an {@link ExecutionContext}, every recipe records a {@link SwaggerRecipeMetrics} row per source file
+ * it visits, with the annotations it matched and rewrote, the templates it applied, the tree nodes it visited and the
+ * time it took, and passes the same row to a {@link Listener} if one is set. When disabled, which is the default, the
+ * only cost is a lookup of an execution context message per source file and per matched annotation.
+ * <p>
+ * The rows are also added up per recipe. OpenRewrite has no hook for recipes at the end of a run, so whatever started
+ * the run calls {@link #summarize(ExecutionContext)} once it completes, to record a {@link SwaggerRecipeMetricsSummary}
+ * row per recipe with its totals and the p50, p99 and maximum of its visit times per source file.
+ */
+public final class SwaggerMetrics {
+    private static final String ENABLED = SwaggerMetrics.class.getName() + ".enabled";
+    private static final String LISTENER = SwaggerMetrics.class.getName() + ".listener";
+    private static final String CURRENT_FILE = SwaggerMetrics.class.getName() + ".currentFile";
+    private static final String TOTALS = SwaggerMetrics.class.getName() + ".totals";
+
+    /**
+     * A hook for metrics systems, called once per recipe and source file.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void sourceFileVisited(SwaggerRecipeMetrics.Row row);
+    }
+
+    private SwaggerMetrics() {
+    }
+
+    public static void enable(ExecutionContext ctx) {
+        ctx.putMessage(ENABLED, true);
+    }
+
+    /**
+     * Enables the metrics and passes every row to the listener as well.
+     */
+    public static void enable(ExecutionContext ctx, Listener listener) {
+        enable(ctx);
+        ctx.putMessage(LISTENER, listener);
+    }
+
+    /**
+     * Records a {@link SwaggerRecipeMetricsSummary} row for every recipe that visited a source file since metrics were
+     * enabled, or since the last summary, in the order of the recipe names.
+     *
+     * @return the rows recorded, which are empty when metrics are disabled.
+     */
+    public static List<SwaggerRecipeMetricsSummary.Row> summarize(ExecutionContext ctx) {
+        Map<String, Totals> totals = ctx.pollMessage(TOTALS);
+        if (totals == null) {
+            return new ArrayList<>();
+        }
+        List<SwaggerRecipeMetricsSummary.Row> rows = new ArrayList<>(totals.size());
+        for (Map.Entry<String, Totals> recipeTotals : new TreeMap<>(totals).entrySet()) {
+            rows.add(recipeTotals.getValue().summary(recipeTotals.getKey()));
+        }
+        // Added the way OpenRewrite adds its own RecipeRunStats at the end of a run, since DataTable#insertRow only
+        // accepts rows during the cycles of a run
+        SwaggerRecipeMetricsSummary summary = new SwaggerRecipeMetricsSummary(Recipe.noop());
+        ctx.<List<SwaggerRecipeMetricsSummary.Row>, Map<DataTable<?>, List<Object>>>computeMessage(ExecutionContext.DATA_TABLES,
+                rows, ConcurrentHashMap::new, (summaryRows, dataTables) -> {
+                    dataTables.computeIfAbsent(summary, t -> new ArrayList<>()).addAll(summaryRows);
+                    return dataTables;
+                });
+        return rows;
+    }
+
+    static void annotationMatched(ExecutionContext ctx) {
+        Counts counts = ctx.getMessage(CURRENT_FILE);
+        if (counts != null) {
+            counts.annotationsMatched++;
+        }
+    }
+
+    static void annotationRewritten(ExecutionContext ctx) {
+        Counts counts = ctx.getMessage(CURRENT_FILE);
+        if (counts != null) {
+            counts.annotationsRewritten++;
+        }
+    }
+
+    static void templateApplied(ExecutionContext ctx) {
+        Counts counts = ctx.getMessage(CURRENT_FILE);
+        if (counts != null) {
+            counts.templateApplications++;
+        }
+    }
+
+    /**
+     * The counts of the source file being visited, or null when metrics are disabled. Looked up once per source file
+     * by {@link DeclarationVisitor}, which then counts the nodes it visits without further lookups.
+     */
+    static @Nullable Counts currentFile(ExecutionContext ctx) {
+        return ctx.getMessage(CURRENT_FILE);
+    }
+
+    /**
+     * Wraps a recipe's visitor so it records metrics for every source file, when enabled.
+     */
+    static TreeVisitor<?, ExecutionContext> instrument(Recipe recipe, SwaggerRecipeMetrics metrics,
+                                                        TreeVisitor<?, ExecutionContext> visitor) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return visitor.isAcceptable(sourceFile, ctx);
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof SourceFile) || ctx.getMessage(ENABLED) == null) {
+                    return visitor.visit(tree, ctx, getCursor());
+                }
+
+                Counts counts = new Counts();
+                ctx.putMessage(CURRENT_FILE, counts);
+                long start = System.nanoTime();
+                Tree after;
+                try {
+                    after = visitor.visit(tree, ctx, getCursor());
+                } finally {
+                    ctx.pollMessage(CURRENT_FILE);
+                }
+                SwaggerRecipeMetrics.Row row = new SwaggerRecipeMetrics.Row(
+                        recipe.getName(),
+                        ((SourceFile) tree).getSourcePath().toString(),
+                        after != tree,
+                        counts.annotationsMatched,
+                        counts.annotationsRewritten,
+                        counts.templateApplications,
+                        counts.nodesVisited,
+                        System.nanoTime() - start);
+                metrics.insertRow(ctx, row);
+                Map<String, Totals> totals = ctx.getMessage(TOTALS);
+                if (totals == null) {
+                    totals = new ConcurrentHashMap<>();
+                    ctx.putMessage(TOTALS, totals);
+                }
+                totals.computeIfAbsent(row.getRecipe(), r -> new Totals()).add(row);
+                Listener listener = ctx.getMessage(LISTENER);
+                if (listener != null) {
+                    listener.sourceFileVisited(row);
+                }
+                return after;
+            }
+        };
+    }
+
+    static class Counts {
+        int annotationsMatched;
+        int annotationsRewritten;
+        int templateApplications;
+        long nodesVisited;
+    }
+
+    /**
+     * The rows of a single recipe, added up. Visit times are kept one per source file, so percentiles are exact.
+     */
+    private static class Totals {
+        int sourceFiles;
+        int sourceFilesChanged;
+        long annotationsMatched;
+        long annotationsRewritten;
+        long templateApplications;
+        long nodesVisited;
+        long[] visitTimes = new long[16];
+
+        synchronized void add(SwaggerRecipeMetrics.Row row) {
+            if (sourceFiles == visitTimes.length) {
+                visitTimes = Arrays.copyOf(visitTimes, sourceFiles * 2);
+            }
+            visitTimes[sourceFiles++] = row.getVisitTimeNanos();
+            if (row.isChanged()) {
+                sourceFilesChanged++;
+            }
+            annotationsMatched += row.getAnnotationsMatched();
+            annotationsRewritten += row.getAnnotationsRewritten();
+            templateApplications += row.getTemplateApplications();
+            nodesVisited += row.getNodesVisited();
+        }
+
+        synchronized SwaggerRecipeMetricsSummary.Row summary(String recipe) {
+            long[] sorted = Arrays.copyOf(visitTimes, sourceFiles);
+            Arrays.sort(sorted);
+            return new SwaggerRecipeMetricsSummary.Row(recipe, sourceFiles, sourceFilesChanged, annotationsMatched,
+                    annotationsRewritten, templateApplications, nodesVisited, Arrays.stream(sorted).sum(),
+                    percentile(sorted, 50), percentile(sorted, 99), sorted[sorted.length - 1]);
+        }
+
+        /**
+         * The nearest-rank percentile of sorted values.
+         */
+        private static long percentile(long[] sorted, int percentile) {
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.openrewrite.Recipe;
+import org.openrewrite.java.ChangeAnnotationAttributeName;
+import org.openrewrite.java.ChangeType;
+import org.openrewrite.java.RemoveAnnotationAttribute;
+
+import java.util.*;
+
+/**
+ * The recipes declared in `META-INF/rewrite/swagger-2.yml`, built directly, without scanning the classpath for
+ * and parsing recipe YAML, or looking up recipe classes by name. Meant for tools that start a JVM per run, where
+ * that is a noticeable part of the run time; the descriptors are the same as those of the declarative recipes
+ * (see SwaggerRecipesTest), so either can be used.
+ */
+public final class SwaggerRecipes {
+    private static final String PACKAGE = "org.openrewrite.openapi.swagger.";
+    private static final String OPERATION = "io.swagger.v3.oas.annotations.Operation";
+    private static final String API_RESPONSE = "io.swagger.v3.oas.annotations.responses.ApiResponse";
+    private static final String PARAMETER = "io.swagger.v3.oas.annotations.Parameter";
+    private static final String SCHEMA = "io.swagger.v3.oas.annotations.media.Schema";
+
+    private SwaggerRecipes() {
+    }
+
+    public static Recipe swaggerToOpenAPI() {
+        return new Composite("SwaggerToOpenAPI", "Migrate from Swagger to OpenAPI", "Migrate from Swagger to OpenAPI.",
+                new IndexSwaggerUsages(),
+                new MigrateSwaggerAnnotations(),
+                new ConvertApiResponseCodesToStrings(),
+                new ConvertApiResponseContainerToContent(),
+                new UpgradeSwaggerDependency(null));
+    }
+
+    public static Recipe migrateApiOperationToOperation() {
+        return new Composite("MigrateApiOperationToOperation", "Migrate from @ApiOperation to @Operation",
+                "Converts the @ApiOperation annotation to @Operation and converts the directly mappable attributes " +
+                "and removes the others.",
+                new ChangeType("io.swagger.annotations.ApiOperation", OPERATION, null),
+                new ChangeAnnotationAttributeName(OPERATION, "notes", "description"),
+                new ChangeAnnotationAttributeName(OPERATION, "value", "summary"),
+                new RemoveAnnotationAttribute(OPERATION, "response"),
+                new RemoveAnnotationAttribute(OPERATION, "consumes"),
+                new RemoveAnnotationAttribute(OPERATION, "produces"),
+                new RemoveAnnotationAttribute(OPERATION, "nickname"),
+                new RemoveAnnotationAttribute(OPERATION, "responseContainer"));
+    }
+
+    public static Recipe migrateApiResponsesToApiResponses() {
+        return new Composite("MigrateApiResponsesToApiResponses", "Migrate from @ApiResponses to @ApiResponses",
+                "Changes the namespace of the @ApiResponses and @ApiResponse annotations and converts its attributes " +
+                "(ex. code -> responseCode, message -> description).",
+                new ChangeType("io.swagger.annotations.ApiResponses", "io.swagger.v3.oas.annotations.responses.ApiResponses", null),
+                new ChangeType("io.swagger.annotations.ApiResponse", API_RESPONSE, null),
+                new ChangeAnnotationAttributeName(API_RESPONSE, "code", "responseCode"),
+                new ChangeAnnotationAttributeName(API_RESPONSE, "message", "description"),
+                new ConvertApiResponseCodesToStrings(),
+                new ConvertApiResponseContainerToContent());
+    }
+
+    public static Recipe migrateApiImplicitParamsToParameters() {
+        return new Composite("MigrateApiImplicitParamsToParameters", "Migrate from @ApiImplicitParams  to @Parameters",
+                "Converts @ApiImplicitParams to @Parameters and the @ApiImplicitParam annotation to @Parameter and " +
+                "converts the directly mappable attributes and removes the others.",
+                new ChangeType("io.swagger.annotations.ApiImplicitParams", "io.swagger.v3.oas.annotations.Parameters", null),
+                new ChangeType("io.swagger.annotations.ApiImplicitParam", PARAMETER, null),
+                new ChangeAnnotationAttributeName(PARAMETER, "value", "description"),
+                new RemoveAnnotationAttribute(PARAMETER, "dataType"),
+                new RemoveAnnotationAttribute(PARAMETER, "paramType"),
+                new RemoveAnnotationAttribute(PARAMETER, "allowMultiple"));
+    }
+
+    public static Recipe migrateApiToTag() {
+        return new Composite("MigrateApiToTag", "Migrate from @Api to @Tag",
+                "Converts @Api to @Tag annotation and converts the directly mappable attributes and removes the others.",
+                new ChangeAnnotationAttributeName("io.swagger.annotations.Api", "value", "name"),
+                new ChangeType("io.swagger.annotations.Api", "io.swagger.v3.oas.annotations.tags.Tag", null));
+    }
+
+    public static Recipe migrateApiParamToParameter() {
+        return new Composite("MigrateApiParamToParameter", "Migrate from @ApiParam to @Parameter",
+                "Converts the @ApiParam annotation to @Parameter and converts the directly mappable attributes.",
+                new ChangeType("io.swagger.annotations.ApiParam", PARAMETER, null),
+                new ChangeAnnotationAttributeName(PARAMETER, "value", "description"));
+    }
+
+    public static Recipe migrateApiModelPropertyToSchema() {
+        return new Composite("MigrateApiModelPropertyToSchema", "Migrate from @ApiModelProperty to @Schema",
+                "Converts the @ApiModelProperty annotation to @Schema and converts the \"value\" attribute to \"description\".",
+                new ChangeType("io.swagger.annotations.ApiModelProperty", SCHEMA, null),
+                new ChangeAnnotationAttributeName(SCHEMA, "value", "description"));
+    }
+
+    /**
+     * All the recipes declared in `META-INF/rewrite/swagger-2.yml`, in the order they are declared.
+     */
+    public static List<Recipe> all() {
+        return Arrays.asList(
+                swaggerToOpenAPI(),
+                migrateApiOperationToOperation(),
+                migrateApiResponsesToApiResponses(),
+                migrateApiImplicitParamsToParameters(),
+                migrateApiToTag(),
+                migrateApiParamToParameter(),
+                migrateApiModelPropertyToSchema());
+    }
+
+    private static class Composite extends Recipe {
+        private static final Set<String> TAGS = new LinkedHashSet<>(Arrays.asList("swagger", "openapi"));
+
+        private final String name;
+        private final String displayName;
+        private final String description;
+        private final List<Recipe> recipeList;
+
+        Composite(String simpleName, String displayName, String description, Recipe... recipeList) {
+            this.name = PACKAGE + simpleName;
+            this.displayName = displayName;
+            this.description = description;
+            this.recipeList = Collections.unmodifiableList(Arrays.asList(recipeList));
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return displayName;
+        }
+
+        @Override
+        public String getDescription() {
+            return description;
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return TAGS;
+        }
+
+        @Override
+        public List<Recipe> getRecipeList() {
+            return recipeList;
+        }
+    }
+}
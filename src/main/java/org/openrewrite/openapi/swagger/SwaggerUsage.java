@@ -0,0 +1,275 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import lombok.Value;
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.marker.SearchResult;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Which Swagger and springfox types a single source file references, how many `@ApiResponse` annotations it has, and
+ * whether any of those types is referred to beyond the annotations of its declarations.
+ * <p>
+ * Each known Swagger annotation type is one bit of a mask, so a usage takes the same small, fixed amount of memory
+ * whatever the size of the file.
+ */
+@Value
+class SwaggerUsage {
+    static final SwaggerUsage NONE = new SwaggerUsage(0, 0, false);
+
+    private static final String SWAGGER_1_PACKAGE = "io.swagger.annotations";
+    private static final String OPENAPI_3_PACKAGE = "io.swagger.v3.oas.annotations";
+    private static final String SPRINGFOX_PACKAGE = "springfox";
+    private static final String API_RESPONSE = "io.swagger.annotations.ApiResponse";
+    private static final String OPENAPI_3_API_RESPONSE = "io.swagger.v3.oas.annotations.responses.ApiResponse";
+
+    private static final Map<String, Long> KNOWN_TYPES = new HashMap<>();
+
+    static {
+        for (AnnotationMapping mapping : AnnotationMapping.SWAGGER_1_TO_OPENAPI_3.values()) {
+            KNOWN_TYPES.putIfAbsent(mapping.getOldFullyQualifiedTypeName(), 1L << KNOWN_TYPES.size());
+            KNOWN_TYPES.putIfAbsent(mapping.getNewFullyQualifiedTypeName(), 1L << KNOWN_TYPES.size());
+        }
+    }
+
+    /**
+     * Any other type from the Swagger 1.x annotations package.
+     */
+    private static final long OTHER_SWAGGER_1 = 1L << 61;
+
+    /**
+     * Any other type from the OpenAPI 3 annotations package.
+     */
+    private static final long OTHER_OPENAPI_3 = 1L << 62;
+
+    private static final long SPRINGFOX = 1L << 63;
+
+    private static final long SWAGGER_1;
+    private static final long API_RESPONSES = KNOWN_TYPES.get(API_RESPONSE) | KNOWN_TYPES.get(OPENAPI_3_API_RESPONSE);
+
+    static {
+        long swagger1 = OTHER_SWAGGER_1;
+        for (String oldType : AnnotationMapping.SWAGGER_1_TO_OPENAPI_3.keySet()) {
+            swagger1 |= KNOWN_TYPES.get(oldType);
+        }
+        SWAGGER_1 = swagger1;
+    }
+
+    long types;
+    int apiResponses;
+
+    /**
+     * Whether a Swagger or springfox type is referred to other than by an annotation of a class, method, field or
+     * parameter: by an annotation inside a method body, initializer or lambda, or as a type, as in
+     * `ApiResponse.class`. Recipes built on {@link DeclarationVisitor} visit the whole of such source files.
+     */
+    boolean beyondDeclarations;
+
+    boolean usesSwagger1() {
+        return (types & SWAGGER_1) != 0;
+    }
+
+    boolean usesSpringfox() {
+        return (types & SPRINGFOX) != 0;
+    }
+
+    boolean usesType(String fullyQualifiedTypeName) {
+        Long bit = KNOWN_TYPES.get(fullyQualifiedTypeName);
+        return bit != null && (types & bit) != 0;
+    }
+
+    /**
+     * Computes the usage of a single source file. Referenced types come from the source file's types in use and its
+     * imports; `@ApiResponse` annotations, of either Swagger 1.x or OpenAPI 3, are only counted if one is referenced.
+     * The rest of the source file is only visited if it references any Swagger or springfox type.
+     */
+    static SwaggerUsage of(JavaSourceFile sourceFile) {
+        long types = 0;
+        for (JavaType type : sourceFile.getTypesInUse().getTypesInUse()) {
+            JavaType.FullyQualified fq = TypeUtils.asFullyQualified(type);
+            if (fq != null && !(fq instanceof JavaType.Unknown)) {
+                types |= typeBit(fq.getFullyQualifiedName(), fq.getPackageName());
+            }
+        }
+        for (J.Import anImport : sourceFile.getImports()) {
+            types |= typeBit(anImport.getTypeName(), anImport.getPackageName());
+        }
+        if (types == 0) {
+            return NONE;
+        }
+
+        // Without a classpath, a star import is all that tells `@ApiResponse` may be used
+        References references = new References(sourceFile,
+                (types & (API_RESPONSES | OTHER_SWAGGER_1 | OTHER_OPENAPI_3)) != 0);
+        references.visit(sourceFile, 0);
+        return new SwaggerUsage(types, references.apiResponses, references.beyondDeclarations);
+    }
+
+    /**
+     * The usage of a source file as the {@link #precondition} sees it: from the index on the root cursor, if there is
+     * one, or else computed on the spot. Without an index, the precondition and the visitor of a recipe ask for the
+     * usage of the same source file one after the other, so the last one computed is kept on the root cursor.
+     */
+    static SwaggerUsage of(Cursor cursor, JavaSourceFile sourceFile) {
+        Cursor root = cursor.getRoot();
+        SwaggerUsageIndex index = root.getMessage(SwaggerUsageIndex.class.getName());
+        if (index != null) {
+            return index.get(sourceFile.getSourcePath());
+        }
+        Computed last = root.getMessage(Computed.class.getName());
+        if (last != null && last.sourceFile == sourceFile) {
+            return last.usage;
+        }
+        SwaggerUsage usage = of(sourceFile);
+        root.putMessage(Computed.class.getName(), new Computed(sourceFile, usage));
+        return usage;
+    }
+
+    @Value
+    private static class Computed {
+        JavaSourceFile sourceFile;
+        SwaggerUsage usage;
+    }
+
+    private static long typeBit(String fullyQualifiedTypeName, String packageName) {
+        Long bit = KNOWN_TYPES.get(fullyQualifiedTypeName);
+        if (bit != null) {
+            return bit;
+        }
+        if (SWAGGER_1_PACKAGE.equals(packageName)) {
+            return OTHER_SWAGGER_1;
+        }
+        if (packageName.startsWith(OPENAPI_3_PACKAGE)) {
+            return OTHER_OPENAPI_3;
+        }
+        if (packageName.equals(SPRINGFOX_PACKAGE) || packageName.startsWith(SPRINGFOX_PACKAGE + ".")) {
+            return SPRINGFOX;
+        }
+        return 0;
+    }
+
+    /**
+     * A precondition that matches source files whose usage satisfies the predicate. When {@link IndexSwaggerUsages}
+     * scanned in the same cycle of the same recipe run, the usage is looked up in the index it left on the root cursor;
+     * otherwise it is computed on the spot.
+     */
+    static TreeVisitor<?, ExecutionContext> precondition(Predicate<SwaggerUsage> predicate) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (!(tree instanceof JavaSourceFile)) {
+                    return tree;
+                }
+                JavaSourceFile sourceFile = (JavaSourceFile) tree;
+                return predicate.test(of(getCursor(), sourceFile)) ? SearchResult.found(sourceFile) : sourceFile;
+            }
+        };
+    }
+
+    /**
+     * Counts the `@ApiResponse` annotations of a source file and finds the first reference to a Swagger or springfox
+     * type beyond the annotations of its declarations, visiting method bodies, initializers and lambdas as well.
+     */
+    private static class References extends JavaIsoVisitor<Integer> {
+        private final JavaSourceFile sourceFile;
+        private final boolean countApiResponses;
+
+        int apiResponses;
+        boolean beyondDeclarations;
+
+        References(JavaSourceFile sourceFile, boolean countApiResponses) {
+            this.sourceFile = sourceFile;
+            this.countApiResponses = countApiResponses;
+        }
+
+        @Override
+        public @Nullable J visit(@Nullable Tree tree, Integer p) {
+            // Once found, there is nothing more to learn, unless `@ApiResponse` annotations are still being counted
+            return beyondDeclarations && !countApiResponses ? (J) tree : super.visit(tree, p);
+        }
+
+        @Override
+        public J.Import visitImport(J.Import anImport, Integer p) {
+            // Imports are already part of the types referenced
+            return anImport;
+        }
+
+        @Override
+        public J.Annotation visitAnnotation(J.Annotation annotation, Integer p) {
+            String type = AnnotationTypes.fullyQualifiedName(annotation, sourceFile);
+            if (type != null) {
+                if (countApiResponses && (API_RESPONSE.equals(type) || OPENAPI_3_API_RESPONSE.equals(type))) {
+                    apiResponses++;
+                }
+                if (!beyondDeclarations && inBody() &&
+                    typeBit(type, type.substring(0, Math.max(type.lastIndexOf('.'), 0))) != 0) {
+                    beyondDeclarations = true;
+                }
+            }
+            return super.visitAnnotation(annotation, p);
+        }
+
+        @Override
+        public J.Identifier visitIdentifier(J.Identifier identifier, Integer p) {
+            JavaType.FullyQualified fq = TypeUtils.asFullyQualified(identifier.getType());
+            if (!beyondDeclarations && fq != null && !(fq instanceof JavaType.Unknown) &&
+                typeBit(fq.getFullyQualifiedName(), fq.getPackageName()) != 0 && !namesAnnotationType(identifier)) {
+                beyondDeclarations = true;
+            }
+            return identifier;
+        }
+
+        /**
+         * Whether the cursor is inside a method body, an initializer or a lambda, including the body of an anonymous
+         * class, rather than among the declarations a {@link DeclarationVisitor} visits.
+         */
+        private boolean inBody() {
+            for (Cursor c = getCursor(); c.getParent() != null; c = c.getParentTreeCursor()) {
+                Object value = c.getValue();
+                if (value instanceof J.Lambda ||
+                    value instanceof J.Block && !(c.getParentTreeCursor().getValue() instanceof J.ClassDeclaration)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Whether the identifier is, or ends, the type of an annotation, which {@link #visitAnnotation} accounts for.
+         */
+        private boolean namesAnnotationType(J.Identifier identifier) {
+            Object child = identifier;
+            Cursor parent = getCursor().getParentTreeCursor();
+            while (parent.getValue() instanceof J.FieldAccess) {
+                child = parent.getValue();
+                parent = parent.getParentTreeCursor();
+            }
+            return parent.getValue() instanceof J.Annotation && ((J.Annotation) parent.getValue()).getAnnotationType() == child;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link SwaggerUsage} of every source file in a recipe run, keyed by source path.
+ * Only source files that reference a Swagger or springfox type are stored.
+ */
+class SwaggerUsageIndex {
+    private final Map<Path, SwaggerUsage> usages = new ConcurrentHashMap<>();
+
+    void put(Path sourcePath, SwaggerUsage usage) {
+        if (usage != SwaggerUsage.NONE) {
+            usages.put(sourcePath, usage);
+        }
+    }
+
+    SwaggerUsage get(Path sourcePath) {
+        return usages.getOrDefault(sourcePath, SwaggerUsage.NONE);
+    }
+}
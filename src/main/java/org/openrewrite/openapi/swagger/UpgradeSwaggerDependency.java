@@ -0,0 +1,179 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.dependencies.AddDependency;
+import org.openrewrite.maven.MavenExecutionContextView;
+import org.openrewrite.maven.cache.CompositeMavenPomCache;
+import org.openrewrite.maven.cache.InMemoryMavenPomCache;
+import org.openrewrite.maven.tree.MavenRepository;
+
+import java.nio.file.Paths;
+import java.util.*;
+
+import static java.util.Collections.singletonList;
+
+/**
+ * Adds `io.swagger.core.v3:swagger-core` to Maven and Gradle builds alike.
+ * <p>
+ * Adding a dependency resolves its POM, and those of its parents and dependencies, for every module it is added to.
+ * At the start of the run, this recipe puts a POM cache shared by all modules in front of the one the run was
+ * configured with, which may keep POMs on disk between runs, so they are resolved once per run however many modules
+ * there are. Given a local repository, it resolves from that directory alone, without network access.
+ * <p>
+ * These settings only apply to this recipe's own scanning and visiting of source files. Other recipes sharing the
+ * execution context resolve with the settings the run was configured with.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class UpgradeSwaggerDependency extends ScanningRecipe<UpgradeSwaggerDependency.Accumulator> {
+    static final String GROUP_ID = "io.swagger.core.v3";
+    static final String ARTIFACT_ID = "swagger-core";
+    static final String VERSION = "2.1.6";
+
+    private static final AddDependency ADD_DEPENDENCY = new AddDependency(GROUP_ID, ARTIFACT_ID, VERSION, null, null,
+            null, "io.swagger.v3*", null, null, null, null, "jar", null, true);
+
+    @Option(displayName = "Local repository",
+            description = "A directory in the layout of a Maven repository, such as `~/.m2/repository`, to resolve " +
+                          "swagger-core and its dependencies from, instead of any remote repository.",
+            example = "/home/ci/.m2/repository",
+            required = false)
+    @Nullable
+    String localRepository;
+
+    @JsonCreator
+    public UpgradeSwaggerDependency(@Nullable @JsonProperty("localRepository") String localRepository) {
+        this.localRepository = localRepository;
+    }
+
+    @Override
+    public String getDisplayName() {
+        return "Add swagger-core v3 dependency";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Adds `io.swagger.core.v3:swagger-core` to Maven and Gradle builds, resolving it once per run for all modules.";
+    }
+
+    @Override
+    public Set<String> getTags() {
+        return new LinkedHashSet<>(Arrays.asList("swagger", "openapi"));
+    }
+
+    public static class Accumulator {
+        final AddDependency.Accumulator addDependency;
+
+        /**
+         * The dependency resolution settings of this recipe, as execution context messages.
+         */
+        final Map<String, Object> resolution;
+
+        Accumulator(AddDependency.Accumulator addDependency, Map<String, Object> resolution) {
+            this.addDependency = addDependency;
+            this.resolution = resolution;
+        }
+    }
+
+    @Override
+    public Accumulator getInitialValue(ExecutionContext ctx) {
+        Map<String, Object> resolution = new HashMap<>();
+        MavenExecutionContextView maven = MavenExecutionContextView.view(new ResolutionContext(ctx, resolution, true));
+        maven.setPomCache(new CompositeMavenPomCache(new InMemoryMavenPomCache(), maven.getPomCache()));
+        if (localRepository != null) {
+            maven.setRepositories(singletonList(MavenRepository.builder()
+                    .id("local")
+                    .uri(Paths.get(localRepository).toUri().toString())
+                    .knownToExist(true)
+                    .build()));
+            maven.setAddCentralRepository(false);
+            maven.setAddLocalRepository(false);
+        }
+        return new Accumulator(ADD_DEPENDENCY.getInitialValue(new ResolutionContext(ctx, resolution, false)), resolution);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getScanner(Accumulator acc) {
+        return withResolution(ADD_DEPENDENCY.getScanner(acc.addDependency), acc);
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor(Accumulator acc) {
+        return withResolution(ADD_DEPENDENCY.getVisitor(acc.addDependency), acc);
+    }
+
+    private static TreeVisitor<?, ExecutionContext> withResolution(TreeVisitor<?, ExecutionContext> visitor, Accumulator acc) {
+        return new TreeVisitor<Tree, ExecutionContext>() {
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return visitor.isAcceptable(sourceFile, ctx);
+            }
+
+            @Override
+            public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+                return visitor.visit(tree, new ResolutionContext(ctx, acc.resolution, false));
+            }
+        };
+    }
+
+    /**
+     * An execution context that reads and writes the messages of this recipe's resolution settings in a map of its
+     * own, and every other message in the execution context of the run.
+     */
+    private static class ResolutionContext extends DelegatingExecutionContext {
+        private final Map<String, Object> resolution;
+        private final boolean configuring;
+
+        /**
+         * @param configuring whether every message written is a resolution setting, while the settings are made.
+         */
+        ResolutionContext(ExecutionContext delegate, Map<String, Object> resolution, boolean configuring) {
+            super(delegate);
+            this.resolution = resolution;
+            this.configuring = configuring;
+        }
+
+        @Override
+        public void putMessage(String key, @Nullable Object value) {
+            if (configuring || resolution.containsKey(key)) {
+                resolution.put(key, value);
+            } else {
+                super.putMessage(key, value);
+            }
+        }
+
+        @Override
+        @Nullable
+        @SuppressWarnings("unchecked")
+        public <T> T getMessage(String key) {
+            return resolution.containsKey(key) ? (T) resolution.get(key) : super.getMessage(key);
+        }
+
+        @Override
+        @Nullable
+        @SuppressWarnings("unchecked")
+        public <T> T pollMessage(String key) {
+            return resolution.containsKey(key) ? (T) resolution.remove(key) : super.pollMessage(key);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger.table;
+
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+public class SwaggerMigrationEstimate extends DataTable<SwaggerMigrationEstimate.Row> {
+
+    public SwaggerMigrationEstimate(Recipe recipe) {
+        super(recipe,
+                "Swagger migration estimate",
+                "What migrating from Swagger to OpenAPI would change in each source file, without changing it.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source project",
+                description = "The project, or module, of the source file, if known.")
+        String sourceProject;
+
+        @Column(displayName = "Source path",
+                description = "The source file that would change.")
+        String sourcePath;
+
+        @Column(displayName = "Deleted",
+                description = "Whether the source file would be deleted for importing a type from a removed package.")
+        boolean deleted;
+
+        @Column(displayName = "Annotations migrated",
+                description = "The number of Swagger 1.x annotations that would change to their OpenAPI 3 counterpart.")
+        int annotationsMigrated;
+
+        @Column(displayName = "Attributes renamed",
+                description = "The number of annotation attributes that would be renamed.")
+        int attributesRenamed;
+
+        @Column(displayName = "Attributes dropped",
+                description = "The number of annotation attributes that would be dropped for having no OpenAPI 3 counterpart.")
+        int attributesDropped;
+
+        @Column(displayName = "Response containers converted",
+                description = "The number of `@ApiResponse`s whose `responseContainer` would be converted to `content`.")
+        int responseContainersConverted;
+
+        @Column(displayName = "Response codes converted",
+                description = "The number of `@ApiResponse`s whose numeric response code would be converted to a string.")
+        int responseCodesConverted;
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger.table;
+
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+public class SwaggerRecipeMetrics extends DataTable<SwaggerRecipeMetrics.Row> {
+
+    public SwaggerRecipeMetrics(Recipe recipe) {
+        super(recipe,
+                "Swagger recipe metrics",
+                "What each Swagger migration recipe did to each source file it visited, and how long it took. " +
+                "Only recorded when enabled with `SwaggerMetrics.enable(ExecutionContext)`.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Recipe",
+                description = "The fully qualified name of the recipe.")
+        String recipe;
+
+        @Column(displayName = "Source path",
+                description = "The source file the recipe visited.")
+        String sourcePath;
+
+        @Column(displayName = "Changed",
+                description = "Whether the recipe changed or deleted the source file.")
+        boolean changed;
+
+        @Column(displayName = "Annotations matched",
+                description = "The number of annotations the recipe matched.")
+        int annotationsMatched;
+
+        @Column(displayName = "Annotations rewritten",
+                description = "The number of matched annotations the recipe rewrote.")
+        int annotationsRewritten;
+
+        @Column(displayName = "Template applications",
+                description = "The number of times the recipe applied a `JavaTemplate`.")
+        int templateApplications;
+
+        @Column(displayName = "Nodes visited",
+                description = "The number of tree nodes the recipe visited in the source file.")
+        long nodesVisited;
+
+        @Column(displayName = "Visit time (ns)",
+                description = "The time the recipe spent visiting the source file, in nanoseconds.")
+        long visitTimeNanos;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger.table;
+
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+public class SwaggerRecipeMetricsSummary extends DataTable<SwaggerRecipeMetricsSummary.Row> {
+
+    public SwaggerRecipeMetricsSummary(Recipe recipe) {
+        super(recipe,
+                "Swagger recipe metrics summary",
+                "What each Swagger migration recipe did across all source files it visited, with percentiles of the " +
+                "time it took per source file. Only recorded when enabled with `SwaggerMetrics.enable(ExecutionContext)`, " +
+                "once `SwaggerMetrics.summarize(ExecutionContext)` is called at the end of the run.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Recipe",
+                description = "The fully qualified name of the recipe.")
+        String recipe;
+
+        @Column(displayName = "Source files",
+                description = "The number of source files the recipe visited.")
+        int sourceFiles;
+
+        @Column(displayName = "Source files changed",
+                description = "The number of source files the recipe changed or deleted.")
+        int sourceFilesChanged;
+
+        @Column(displayName = "Annotations matched",
+                description = "The number of annotations the recipe matched.")
+        long annotationsMatched;
+
+        @Column(displayName = "Annotations rewritten",
+                description = "The number of matched annotations the recipe rewrote.")
+        long annotationsRewritten;
+
+        @Column(displayName = "Template applications",
+                description = "The number of times the recipe applied a `JavaTemplate`.")
+        long templateApplications;
+
+        @Column(displayName = "Nodes visited",
+                description = "The number of tree nodes the recipe visited.")
+        long nodesVisited;
+
+        @Column(displayName = "Total visit time (ns)",
+                description = "The time the recipe spent visiting all source files, in nanoseconds.")
+        long visitTimeTotalNanos;
+
+        @Column(displayName = "Median visit time (ns)",
+                description = "The median time the recipe spent visiting a source file, in nanoseconds.")
+        long visitTimeP50Nanos;
+
+        @Column(displayName = "99th percentile visit time (ns)",
+                description = "The 99th percentile of the time the recipe spent visiting a source file, in nanoseconds.")
+        long visitTimeP99Nanos;
+
+        @Column(displayName = "Max visit time (ns)",
+                description = "The longest time the recipe spent visiting a single source file, in nanoseconds.")
+        long visitTimeMaxNanos;
+    }
+}
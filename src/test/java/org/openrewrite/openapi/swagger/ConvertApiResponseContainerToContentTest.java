@@ -53,7 +53,7 @@ class ConvertApiResponseContainerToContentTest implements RewriteTest {
 
               class A {
                   @ApiResponses(value = {
-                          @ApiResponse(content = @io.swagger.v3.oas.annotations.media.Content(array = @io.swagger.v3.oas.annotations.media.ArraySchema(uniqueItems = false, schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = org.openrewrite.openapi.swagger.Donut.class))))})
+                      @ApiResponse(content = @io.swagger.v3.oas.annotations.media.Content(array = @io.swagger.v3.oas.annotations.media.ArraySchema(uniqueItems = false, schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = org.openrewrite.openapi.swagger.Donut.class))))})
                   void method() {}
               }
               
@@ -85,7 +85,82 @@ class ConvertApiResponseContainerToContentTest implements RewriteTest {
 
               class A {
                   @ApiResponses(value = {
-                          @ApiResponse(content = @io.swagger.v3.oas.annotations.media.Content(array = @io.swagger.v3.oas.annotations.media.ArraySchema(uniqueItems = false)))})
+                      @ApiResponse(content = @io.swagger.v3.oas.annotations.media.Content(array = @io.swagger.v3.oas.annotations.media.ArraySchema(uniqueItems = false)))})
+                  void method() {}
+              }
+              
+              """
+          )
+        );
+    }
+
+
+    @Test
+    void convertApiResponseContainerWithAttributedResponseClass() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Pet {
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import io.swagger.annotations.ApiResponse;
+              import io.swagger.annotations.ApiResponses;
+              
+              class A {
+                  @ApiResponses(value = {
+                      @ApiResponse(response = Pet.class, responseContainer = "List")})
+                  void method() {}
+              }
+              
+              """,
+            """
+              import io.swagger.v3.oas.annotations.responses.ApiResponse;
+              import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+              class A {
+                  @ApiResponses(value = {
+                      @ApiResponse(content = @io.swagger.v3.oas.annotations.media.Content(array = @io.swagger.v3.oas.annotations.media.ArraySchema(uniqueItems = false, schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = Pet.class))))})
+                  void method() {}
+              }
+              
+              """
+          )
+        );
+    }
+
+
+    @Test
+    void convertOnlyContainerResponsesOfApiResponses() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import io.swagger.annotations.ApiResponse;
+              import io.swagger.annotations.ApiResponses;
+              
+              class A {
+                  @ApiResponses(value = {
+                      @ApiResponse(response = org.openrewrite.openapi.swagger.Donut.class, responseContainer = "List"),
+                      @ApiResponse(code = 404, message = "Not found"),
+                      @ApiResponse(responseContainer = "List")})
+                  void method() {}
+              }
+              
+              """,
+            """
+              import io.swagger.v3.oas.annotations.responses.ApiResponse;
+              import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+              class A {
+                  @ApiResponses(value = {
+                      @ApiResponse(content = @io.swagger.v3.oas.annotations.media.Content(array = @io.swagger.v3.oas.annotations.media.ArraySchema(uniqueItems = false, schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = org.openrewrite.openapi.swagger.Donut.class)))),
+                      @ApiResponse(responseCode = "404", description = "Not found"),
+                      @ApiResponse(content = @io.swagger.v3.oas.annotations.media.Content(array = @io.swagger.v3.oas.annotations.media.ArraySchema(uniqueItems = false)))})
                   void method() {}
               }
               
@@ -94,6 +169,30 @@ class ConvertApiResponseContainerToContentTest implements RewriteTest {
         );
     }
 
+    @Test
+    void onlyInsertedContentIsFormatted() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import io.swagger.annotations.ApiResponse;
+              
+              class A {
+                  @ApiResponse(code = 200,message = "OK", responseContainer = "List")
+                  void method() {}
+              }
+              """,
+            """
+              import io.swagger.v3.oas.annotations.responses.ApiResponse;
+              
+              class A {
+                  @ApiResponse(content = @io.swagger.v3.oas.annotations.media.Content(array = @io.swagger.v3.oas.annotations.media.ArraySchema(uniqueItems = false)), responseCode = "200",description = "OK")
+                  void method() {}
+              }
+              """
+          )
+        );
+    }
 
     @Test
     void noChangeOnAlreadyConverted() {
@@ -113,4 +212,24 @@ class ConvertApiResponseContainerToContentTest implements RewriteTest {
           )
         );
     }
-}
\ No newline at end of file
+
+    @Test
+    void noChangeOnApiResponseWithoutNamedArguments() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import io.swagger.v3.oas.annotations.responses.ApiResponse;
+              import io.swagger.v3.oas.annotations.responses.ApiResponses;
+
+              class A {
+                  @ApiResponses({
+                      @ApiResponse(),
+                      @ApiResponse(responseCode = "404")})
+                  void method() {}
+              }
+              """
+          )
+        );
+    }
+}
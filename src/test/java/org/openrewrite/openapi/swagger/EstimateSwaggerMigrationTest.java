@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.openapi.swagger.table.SwaggerMigrationEstimate;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.TypeValidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class EstimateSwaggerMigrationTest implements RewriteTest {
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new EstimateSwaggerMigration(null))
+          .parser(JavaParser.fromJavaVersion().classpath("swagger-annotations-1.+"))
+          // springfox is not on the classpath
+          .typeValidationOptions(TypeValidation.none());
+    }
+
+    @Test
+    void countsWithoutChanging() {
+        rewriteRun(
+          spec -> spec.dataTable(SwaggerMigrationEstimate.Row.class, rows -> assertThat(rows).containsExactlyInAnyOrder(
+            new SwaggerMigrationEstimate.Row("", "PetController.java", false, 4, 4, 1, 1, 1),
+            new SwaggerMigrationEstimate.Row("", "SwaggerConfig.java", true, 0, 0, 0, 0, 0))),
+          //language=java
+          java(
+            """
+              import io.swagger.annotations.Api;
+              import io.swagger.annotations.ApiOperation;
+              import io.swagger.annotations.ApiResponse;
+              import io.swagger.annotations.ApiResponses;
+
+              @Api("Pets")
+              class PetController {
+                  @ApiOperation(value = "Find pets", nickname = "findPets")
+                  @ApiResponses({
+                      @ApiResponse(code = 200, message = "OK", response = String.class, responseContainer = "List")})
+                  void find() {}
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              import springfox.documentation.spring.web.plugins.Docket;
+
+              class SwaggerConfig {
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              class Plain {
+                  @Deprecated
+                  void method() {}
+              }
+              """
+          )
+        );
+    }
+}
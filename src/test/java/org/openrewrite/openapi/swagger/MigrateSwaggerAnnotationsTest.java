@@ -0,0 +1,252 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.*;
+import org.openrewrite.config.CompositeRecipe;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.ChangeType;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.RemoveUnusedImports;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class MigrateSwaggerAnnotationsTest implements RewriteTest {
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new MigrateSwaggerAnnotations())
+          .parser(JavaParser.fromJavaVersion().classpath("swagger-annotations-1.+", "swagger-annotations-2.+"));
+    }
+
+    @Test
+    @DocumentExample
+    void migrateApiOperation() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import io.swagger.annotations.ApiOperation;
+
+              class A {
+                  @ApiOperation(value = "Find pets", notes = "Returns all pets", nickname = "findPets")
+                  void method() {}
+              }
+              """,
+            """
+              import io.swagger.v3.oas.annotations.Operation;
+
+              class A {
+                  @Operation(summary = "Find pets", description = "Returns all pets")
+                  void method() {}
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void migrateImplicitValueAttribute() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import io.swagger.annotations.Api;
+
+              @Api("pets")
+              class A {
+              }
+              """,
+            """
+              import io.swagger.v3.oas.annotations.tags.Tag;
+
+              @Tag(name = "pets")
+              class A {
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void migrateImplicitParams() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import io.swagger.annotations.ApiImplicitParam;
+              import io.swagger.annotations.ApiImplicitParams;
+
+              class A {
+                  @ApiImplicitParams({
+                      @ApiImplicitParam(paramType = "query", name = "limit", value = "Page size", dataType = "int")})
+                  void method() {}
+              }
+              """,
+            """
+              import io.swagger.v3.oas.annotations.Parameter;
+              import io.swagger.v3.oas.annotations.Parameters;
+
+              class A {
+                  @Parameters({
+                      @Parameter(name = "limit", description = "Page size")})
+                  void method() {}
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void migrateReferencesInMethodBodies() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import io.swagger.annotations.ApiModelProperty;
+              import io.swagger.annotations.ApiOperation;
+
+              class A {
+                  @ApiOperation("Describe")
+                  Object describe() {
+                      Runnable task = () -> new Object() {
+                          @ApiModelProperty("The name")
+                          String name;
+                      };
+                      return getClass().getAnnotation(ApiOperation.class);
+                  }
+              }
+              """,
+            """
+              import io.swagger.v3.oas.annotations.Operation;
+              import io.swagger.v3.oas.annotations.media.Schema;
+
+              class A {
+                  @Operation(summary = "Describe")
+                  Object describe() {
+                      Runnable task = () -> new Object() {
+                          @Schema(description = "The name")
+                          String name;
+                      };
+                      return getClass().getAnnotation(Operation.class);
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void noChangeOnAlreadyConverted() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import io.swagger.v3.oas.annotations.Operation;
+
+              class A {
+                  @Operation(summary = "Find pets")
+                  void method() {}
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void sameOutputAsChainedRecipes() {
+        //language=java
+        String source = """
+          import io.swagger.annotations.*;
+
+          @Api(value = "pets", tags = "pets")
+          class PetController {
+              @ApiOperation(value = "Find pets", notes = "Returns all pets", response = Pet.class, responseContainer = "List")
+              @ApiResponses(value = {
+                  @ApiResponse(code = 200, message = "OK", response = Pet.class, responseContainer = "List"),
+                  @ApiResponse(code = 404, message = "Not found")})
+              @ApiImplicitParams({
+                  @ApiImplicitParam(name = "limit", value = "Page size", dataType = "int", paramType = "query")})
+              Pet[] findPets(@ApiParam("Pet status") String status) {
+                  return null;
+              }
+
+              String describe() {
+                  @ApiModel("Page")
+                  class Page {
+                      @ApiModelProperty(value = "The size", required = true)
+                      int size;
+                  }
+                  Object owner = new Object() {
+                      @ApiModelProperty(value = "The owner")
+                      String name;
+                  };
+                  ApiOperation operation = getClass().getAnnotation(ApiOperation.class);
+                  return ApiResponse.class.getName() + operation;
+              }
+
+              @ApiModel("Pet")
+              static class Pet {
+                  @ApiModelProperty(value = "The name", required = true)
+                  String name;
+              }
+          }
+          """;
+
+        Environment env = Environment.builder().scanRuntimeClasspath("org.openrewrite.openapi.swagger").build();
+        Recipe chained = new CompositeRecipe(Arrays.asList(
+          new ChangeType("io.swagger.annotations.Tag", "io.swagger.v3.oas.annotations.tags.Tag", null),
+          env.activateRecipes(
+            "org.openrewrite.openapi.swagger.MigrateApiOperationToOperation",
+            "org.openrewrite.openapi.swagger.MigrateApiResponsesToApiResponses",
+            "org.openrewrite.openapi.swagger.MigrateApiImplicitParamsToParameters",
+            "org.openrewrite.openapi.swagger.MigrateApiToTag",
+            "org.openrewrite.openapi.swagger.MigrateApiParamToParameter",
+            "org.openrewrite.openapi.swagger.MigrateApiModelPropertyToSchema"),
+          new ChangeType("io.swagger.annotations.ApiModel", "io.swagger.v3.oas.annotations.media.Schema", null),
+          // Depending on the OpenRewrite version, ChangeType keeps a star import of the old package once unused
+          new RemoveUnusedImports()
+        ));
+        Recipe singlePass = new CompositeRecipe(Arrays.asList(
+          new MigrateSwaggerAnnotations(),
+          new ConvertApiResponseCodesToStrings(),
+          new ConvertApiResponseContainerToContent(),
+          new RemoveUnusedImports()
+        ));
+
+        assertThat(migrate(singlePass, source)).isEqualTo(migrate(chained, source));
+    }
+
+    private static List<String> migrate(Recipe recipe, String source) {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion()
+          .classpath("swagger-annotations-1.+", "swagger-annotations-2.+")
+          .build()
+          .parse(ctx, source)
+          .collect(Collectors.toList());
+        return recipe.run(new InMemoryLargeSourceSet(sourceFiles), ctx).getChangeset().getAllResults().stream()
+          .map(result -> result.getAfter() == null ? "" : result.getAfter().printAll())
+          .collect(Collectors.toList());
+    }
+}
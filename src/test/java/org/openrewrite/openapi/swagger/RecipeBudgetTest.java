@@ -0,0 +1,181 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.*;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs each recipe over the same {@link SwaggerCorpusGenerator generated} corpus on the test thread and compares the
+ * bytes it allocated and the tree nodes it visited, per source file, with the budgets checked in to
+ * `recipe-budgets.properties`. A value over its budget by more than the margin fails the test, so allocation and
+ * traversal regressions are caught by `./gradlew test` rather than by a JMH run.
+ * <p>
+ * Allocations and nodes do not depend on how loaded the machine is, so unlike wall or CPU time they are measured here.
+ * The margin is 25% by default and set with `-Dswagger.budget.margin=0.1`. With `-Dswagger.budget.record=true` the
+ * measurements are written to `build/budgets/recipe-budgets.properties` instead, to be checked in after an intended
+ * change.
+ */
+class RecipeBudgetTest {
+    private static final long SEED = 42;
+    private static final int FILES = 200;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 3;
+
+    @Test
+    void recipesStayWithinBudget() throws IOException {
+        com.sun.management.ThreadMXBean threads = threadMXBean();
+
+        ExecutionContext parseCtx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> swagger1 = JavaParser.fromJavaVersion()
+          .classpath("swagger-annotations-1.+", "swagger-annotations-2.+")
+          .build()
+          .parse(parseCtx, SwaggerCorpusGenerator.contents(SwaggerCorpusGenerator.ofSize(SEED, FILES).generate()))
+          .collect(Collectors.toList());
+        // The response codes and containers are converted after the annotation types are migrated, as in SwaggerToOpenAPI
+        List<SourceFile> migrated = new ArrayList<>(swagger1);
+        for (Result result : new MigrateSwaggerAnnotations().run(new InMemoryLargeSourceSet(swagger1), parseCtx)
+          .getChangeset().getAllResults()) {
+            migrated.set(migrated.indexOf(result.getBefore()), result.getAfter());
+        }
+
+        Map<String, Measurement> measurements = new LinkedHashMap<>();
+        measurements.put("MigrateSwaggerAnnotations", measure(threads, new MigrateSwaggerAnnotations(), swagger1));
+        measurements.put("ConvertApiResponseCodesToStrings", measure(threads, new ConvertApiResponseCodesToStrings(), migrated));
+        measurements.put("ConvertApiResponseContainerToContent", measure(threads, new ConvertApiResponseContainerToContent(), migrated));
+        measurements.put("RemoveClazzRecipe", measure(threads, new RemoveClazzRecipe("springfox(\\..+)?"), swagger1));
+        measurements.put("SwaggerToOpenAPI", measure(threads, SwaggerRecipes.swaggerToOpenAPI(), swagger1));
+
+        if (Boolean.getBoolean("swagger.budget.record")) {
+            record(measurements);
+            return;
+        }
+
+        Properties budgets = budgets();
+        double margin = Double.parseDouble(System.getProperty("swagger.budget.margin", "0.25"));
+        List<String> exceeded = new ArrayList<>();
+        measurements.forEach((recipe, measurement) -> {
+            check(exceeded, budgets, recipe + ".bytesPerFile", measurement.bytesPerFile, margin);
+            check(exceeded, budgets, recipe + ".nodesPerFile", measurement.nodesPerFile, margin);
+        });
+        assertThat(exceeded).as("budgets exceeded by more than the margin, measuring %s", measurements).isEmpty();
+    }
+
+    /**
+     * Keeps the least allocation of the measured runs, which is the one least disturbed by JIT compilation.
+     */
+    private static Measurement measure(com.sun.management.ThreadMXBean threads, Recipe recipe, List<SourceFile> sourceFiles) {
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            run(recipe, sourceFiles, new InMemoryExecutionContext());
+        }
+
+        long bytes = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            ExecutionContext ctx = new InMemoryExecutionContext();
+            long bytesBefore = threads.getThreadAllocatedBytes(thread);
+            run(recipe, sourceFiles, ctx);
+            bytes = Math.min(bytes, threads.getThreadAllocatedBytes(thread) - bytesBefore);
+        }
+
+        // Counted in a run of its own, so the metrics rows are not part of the allocations measured above
+        AtomicLong nodes = new AtomicLong();
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        SwaggerMetrics.enable(ctx, row -> nodes.addAndGet(row.getNodesVisited()));
+        run(recipe, sourceFiles, ctx);
+
+        int files = sourceFiles.size();
+        return new Measurement(bytes / files, nodes.get() / files);
+    }
+
+    private static void run(Recipe recipe, List<SourceFile> sourceFiles, ExecutionContext ctx) {
+        assertThat(recipe.run(new InMemoryLargeSourceSet(sourceFiles), ctx).getChangeset().getAllResults())
+          .as(recipe.getName())
+          .isNotEmpty();
+    }
+
+    private static void check(List<String> exceeded, Properties budgets, String key, long actual, double margin) {
+        String budget = budgets.getProperty(key);
+        assertThat(budget).as("budget for %s in recipe-budgets.properties", key).isNotNull();
+        long limit = (long) (Long.parseLong(budget.trim()) * (1 + margin));
+        if (actual > limit) {
+            exceeded.add(String.format("%s is %d, over its budget of %s plus %.0f%%", key, actual, budget.trim(), margin * 100));
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+          "per-thread allocation counters are not available on this JVM");
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported(),
+          "per-thread allocation counters are not supported on this JVM");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+
+    private static Properties budgets() throws IOException {
+        Properties budgets = new Properties();
+        try (InputStream in = RecipeBudgetTest.class.getResourceAsStream("/recipe-budgets.properties")) {
+            assertThat(in).as("recipe-budgets.properties on the test classpath").isNotNull();
+            budgets.load(in);
+        }
+        return budgets;
+    }
+
+    private static void record(Map<String, Measurement> measurements) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# Measured over " + FILES + " generated source files with seed " + SEED);
+        measurements.forEach((recipe, measurement) -> {
+            lines.add(recipe + ".bytesPerFile=" + measurement.bytesPerFile);
+            lines.add(recipe + ".nodesPerFile=" + measurement.nodesPerFile);
+        });
+        Path file = Paths.get("build", "budgets", "recipe-budgets.properties");
+        Files.createDirectories(file.getParent());
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        System.out.println("Recipe budgets recorded to " + file.toAbsolutePath());
+    }
+
+    private static class Measurement {
+        final long bytesPerFile;
+        final long nodesPerFile;
+
+        Measurement(long bytesPerFile, long nodesPerFile) {
+            this.bytesPerFile = bytesPerFile;
+            this.nodesPerFile = nodesPerFile;
+        }
+
+        @Override
+        public String toString() {
+            return "bytesPerFile=" + bytesPerFile + ", nodesPerFile=" + nodesPerFile;
+        }
+    }
+}
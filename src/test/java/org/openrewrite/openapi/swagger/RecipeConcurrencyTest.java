@@ -0,0 +1,131 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Shares one instance of each recipe between many threads, each migrating its own batch of
+ * {@link SwaggerCorpusGenerator generated} source files, and asserts the result is the same as a serial run.
+ */
+class RecipeConcurrencyTest {
+    private static final int FILES = 2000;
+    private static final int BATCH = 20;
+
+    @Test
+    void sharedRecipeInstancesGiveSerialResults() throws Exception {
+        List<List<SourceFile>> batches = batches(SwaggerCorpusGenerator.ofSize(42, FILES), BATCH);
+        for (Recipe recipe : Arrays.asList(
+          swaggerToOpenAPI(),
+          new MigrateSwaggerAnnotations(),
+          new ConvertApiResponseContainerToContent(),
+          new RemoveClazzRecipe("springfox(\\..+)?"))) {
+            assertConcurrentRunsGiveSerialResults(recipe, batches);
+        }
+    }
+
+    /**
+     * An `@ApiResponse` whose `response` is not a class literal is converted with a template. Every template
+     * application compiles the whole source file, so the corpus is smaller, and split into smaller batches to keep
+     * as many applications running at the same time.
+     */
+    @Test
+    void sharedRecipeInstanceAppliesTemplateConcurrently() throws Exception {
+        List<List<SourceFile>> batches = batches(SwaggerCorpusGenerator.ofSize(42, 100).nonLiteralResponses(true), 4);
+        assertThat(assertConcurrentRunsGiveSerialResults(swaggerToOpenAPI(), batches)).isPositive();
+    }
+
+    private static Recipe swaggerToOpenAPI() {
+        return Environment.builder()
+          .scanRuntimeClasspath("org.openrewrite.openapi.swagger")
+          .build()
+          .activateRecipes("org.openrewrite.openapi.swagger.SwaggerToOpenAPI");
+    }
+
+    private static List<List<SourceFile>> batches(SwaggerCorpusGenerator corpus, int batchSize) {
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion()
+          .classpath("swagger-annotations-1.+", "swagger-annotations-2.+")
+          .build()
+          .parse(new InMemoryExecutionContext(), SwaggerCorpusGenerator.contents(corpus.generate()))
+          .collect(Collectors.toList());
+        List<List<SourceFile>> batches = new ArrayList<>();
+        for (int i = 0; i < sourceFiles.size(); i += batchSize) {
+            batches.add(sourceFiles.subList(i, Math.min(i + batchSize, sourceFiles.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * @return the number of templates the concurrent runs applied.
+     */
+    private static long assertConcurrentRunsGiveSerialResults(Recipe recipe, List<List<SourceFile>> batches) throws Exception {
+        List<Map<String, String>> serial = new ArrayList<>();
+        for (List<SourceFile> batch : batches) {
+            serial.add(migrate(recipe, batch));
+        }
+
+        AtomicLong templateApplications = new AtomicLong();
+        ExecutorService executor = virtualThreadsOrPool();
+        try {
+            List<Future<Map<String, String>>> concurrent = new ArrayList<>();
+            for (List<SourceFile> batch : batches) {
+                concurrent.add(executor.submit(() -> migrate(recipe, batch, templateApplications)));
+            }
+            for (int i = 0; i < batches.size(); i++) {
+                assertThat(concurrent.get(i).get()).as(recipe.getName()).isEqualTo(serial.get(i));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return templateApplications.get();
+    }
+
+    private static Map<String, String> migrate(Recipe recipe, List<SourceFile> batch) {
+        return migrate(recipe, batch, new AtomicLong());
+    }
+
+    private static Map<String, String> migrate(Recipe recipe, List<SourceFile> batch, AtomicLong templateApplications) {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        SwaggerMetrics.enable(ctx, row -> templateApplications.addAndGet(row.getTemplateApplications()));
+        Map<String, String> migrated = new TreeMap<>();
+        for (Result result : recipe.run(new InMemoryLargeSourceSet(batch), ctx).getChangeset().getAllResults()) {
+            migrated.put(result.getBefore().getSourcePath().toString(), result.getAfter() == null ? "<deleted>" : result.getAfter().printAll());
+        }
+        return migrated;
+    }
+
+    private static ExecutorService virtualThreadsOrPool() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Before Java 21
+            return Executors.newFixedThreadPool(4 * Runtime.getRuntime().availableProcessors());
+        }
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.TypeValidation;
+
+import static org.openrewrite.java.Assertions.java;
+
+class RemoveClazzAndReferencesRecipeTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new RemoveClazzAndReferencesRecipe("springfox\\.documentation(\\..+)?"))
+          // Neither springfox nor Spring are on the classpath
+          .typeValidationOptions(TypeValidation.none());
+    }
+
+    @DocumentExample
+    @Test
+    void removeReferencesToDeletedClasses() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              package com.acme.config;
+
+              import springfox.documentation.spring.web.plugins.Docket;
+
+              public class SwaggerConfig {
+                  public Docket api() {
+                      return null;
+                  }
+              }
+              """,
+            doesNotExist()
+          ),
+          //language=java
+          java(
+            """
+              package com.acme;
+
+              import com.acme.config.SwaggerConfig;
+              import com.acme.config.WebConfig;
+              import org.springframework.context.annotation.Import;
+
+              @Import({SwaggerConfig.class, WebConfig.class})
+              public class Application {
+                  private SwaggerConfig swaggerConfig;
+
+                  private String name;
+
+                  SwaggerConfig swaggerConfig() {
+                      return swaggerConfig;
+                  }
+              }
+              """,
+            """
+              package com.acme;
+
+              import com.acme.config.WebConfig;
+              import org.springframework.context.annotation.Import;
+
+              @Import({WebConfig.class})
+              public class Application {
+                  private String name;
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              package com.acme.config;
+
+              import org.springframework.context.annotation.Configuration;
+              import org.springframework.context.annotation.Import;
+
+              @Import(SwaggerConfig.class)
+              @Configuration
+              public class WebConfig {
+              }
+              """,
+            """
+              package com.acme.config;
+
+              import org.springframework.context.annotation.Configuration;
+              import org.springframework.context.annotation.Import;
+
+              @Configuration
+              public class WebConfig {
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void removeBeanMethodsConsumingDeletedClasses() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              package com.acme.config;
+
+              import springfox.documentation.spring.web.plugins.Docket;
+
+              public class SwaggerConfig {
+              }
+              """,
+            doesNotExist()
+          ),
+          //language=java
+          java(
+            """
+              package com.acme.config;
+
+              import org.springframework.context.annotation.Bean;
+              import org.springframework.context.annotation.Configuration;
+
+              @Configuration
+              public class WebConfig {
+                  @Bean
+                  public String apiTitle(SwaggerConfig swaggerConfig) {
+                      return swaggerConfig.toString();
+                  }
+
+                  @Bean
+                  public String name() {
+                      return "acme";
+                  }
+              }
+              """,
+            """
+              package com.acme.config;
+
+              import org.springframework.context.annotation.Bean;
+              import org.springframework.context.annotation.Configuration;
+
+              @Configuration
+              public class WebConfig {
+                  @Bean
+                  public String name() {
+                      return "acme";
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void markParametersOfDeletedClasses() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              package com.acme.config;
+
+              import springfox.documentation.spring.web.plugins.Docket;
+
+              public class SwaggerConfig {
+              }
+              """,
+            doesNotExist()
+          ),
+          //language=java
+          java(
+            """
+              package com.acme;
+
+              import com.acme.config.SwaggerConfig;
+
+              class ApiDocs {
+                  ApiDocs(SwaggerConfig swaggerConfig, String title) {
+                  }
+              }
+              """,
+            """
+              package com.acme;
+
+              class ApiDocs {
+                  ApiDocs(/*~~(Parameter of a removed class)~~>*/SwaggerConfig swaggerConfig, String title) {
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void markReferencesThatAreStillUsed() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              package com.acme.config;
+
+              import springfox.documentation.spring.web.plugins.Docket;
+
+              public class SwaggerConfig {
+                  public String title() {
+                      return "acme";
+                  }
+              }
+              """,
+            doesNotExist()
+          ),
+          //language=java
+          java(
+            """
+              package com.acme;
+
+              import com.acme.config.SwaggerConfig;
+
+              class ApiDocs {
+                  private final SwaggerConfig swaggerConfig;
+
+                  private SwaggerConfig unused;
+
+                  ApiDocs(SwaggerConfig swaggerConfig) {
+                      this.swaggerConfig = swaggerConfig;
+                  }
+
+                  String title() {
+                      return swaggerConfig.title();
+                  }
+
+                  Object copy(Object config) {
+                      SwaggerConfig copy = new SwaggerConfig();
+                      return (SwaggerConfig) config;
+                  }
+
+                  Class<?> type() {
+                      return SwaggerConfig.class;
+                  }
+              }
+              """,
+            """
+              package com.acme;
+
+              class ApiDocs {
+                  /*~~(Used member of a removed class)~~>*/private final SwaggerConfig swaggerConfig;
+
+                  ApiDocs(/*~~(Parameter of a removed class)~~>*/SwaggerConfig swaggerConfig) {
+                      this.swaggerConfig = swaggerConfig;
+                  }
+
+                  String title() {
+                      return /*~~(Reference to a removed class)~~>*/swaggerConfig.title();
+                  }
+
+                  Object copy(Object config) {
+                      /*~~(Variable of a removed class)~~>*/SwaggerConfig copy = /*~~(Reference to a removed class)~~>*/new SwaggerConfig();
+                      return /*~~(Reference to a removed class)~~>*/(SwaggerConfig) config;
+                  }
+
+                  Class<?> type() {
+                      return /*~~(Reference to a removed class)~~>*/SwaggerConfig.class;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepAnnotationWithoutTheRemovedAttribute() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              package com.acme.config;
+
+              import springfox.documentation.spring.web.plugins.Docket;
+
+              public class SwaggerConfig {
+              }
+              """,
+            doesNotExist()
+          ),
+          //language=java
+          java(
+            """
+              package com.acme;
+
+              import com.acme.config.SwaggerConfig;
+              import org.springframework.boot.test.context.SpringBootTest;
+
+              @SpringBootTest(classes = SwaggerConfig.class)
+              class SwaggerConfigTest {
+              }
+              """,
+            """
+              package com.acme;
+
+              import org.springframework.boot.test.context.SpringBootTest;
+
+              @SpringBootTest
+              class SwaggerConfigTest {
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void keepSourcesWithoutReferences() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              package com.acme.config;
+
+              public class SwaggerConfig {
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              package com.acme;
+
+              import com.acme.config.SwaggerConfig;
+
+              class Application {
+                  SwaggerConfig swaggerConfig;
+              }
+              """
+          )
+        );
+    }
+}
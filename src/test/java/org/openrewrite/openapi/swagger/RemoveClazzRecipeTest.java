@@ -44,4 +44,97 @@ public class RemoveClazzRecipeTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void acceptSinglePatternAsBefore() {
+        rewriteRun(
+          spec -> spec.recipeFromYaml(
+              //language=yaml
+              """
+                type: specs.openrewrite.org/v1beta/recipe
+                name: com.acme.RemoveSpringfoxConfig
+                displayName: Remove springfox configuration
+                description: Configured with a single package regex, as before typePackage took a list.
+                recipeList:
+                  - org.openrewrite.openapi.swagger.RemoveClazzRecipe:
+                      typePackage: springfox\\.documentation(\\..+)?
+                """,
+              "com.acme.RemoveSpringfoxConfig")
+            .parser(JavaParser.fromJavaVersion().classpath("swagger-annotations-1.+")),
+          //language=java
+          java(
+            """
+            import springfox.documentation.service.ApiInfo;
+            
+            public class TestClass {
+            }
+            """,
+            doesNotExist()
+          )
+        );
+    }
+
+    @Test
+    void deleteTypeIfImportMatchesAnyPattern() {
+        rewriteRun(
+          spec -> spec.recipe(new RemoveClazzRecipe("springfox\\.documentation(\\..+)?", "com\\.acme\\.docs\\..*", "io\\.swagger\\.config"))
+            .parser(JavaParser.fromJavaVersion().classpath("swagger-annotations-1.+")),
+          //language=java
+          java(
+            """
+            import com.acme.docs.internal.DocsConfig;
+            
+            public class AcmeDocs {
+            }
+            """,
+            doesNotExist()
+          ),
+          //language=java
+          java(
+            """
+            import io.swagger.config.ScannerFactory;
+            
+            public class SwaggerConfig {
+            }
+            """,
+            doesNotExist()
+          )
+        );
+    }
+
+    @Test
+    void deleteTypeIfImportMatchesRegex() {
+        rewriteRun(
+          spec -> spec.recipe(new RemoveClazzRecipe("com\\.acme\\.(legacy|old)docs"))
+            .parser(JavaParser.fromJavaVersion().classpath("swagger-annotations-1.+")),
+          //language=java
+          java(
+            """
+            import com.acme.olddocs.DocsConfig;
+            
+            public class AcmeDocs {
+            }
+            """,
+            doesNotExist()
+          )
+        );
+    }
+
+    @Test
+    void keepTypeIfNoImportMatches() {
+        rewriteRun(
+          spec -> spec.recipe(new RemoveClazzRecipe("springfox\\.documentation(\\..+)?", "com\\.acme\\.docs\\..*"))
+            .parser(JavaParser.fromJavaVersion().classpath("swagger-annotations-1.+")),
+          //language=java
+          java(
+            """
+            import com.acme.docs.DocsConfig;
+            import springfoxx.documentation.Docket;
+            
+            public class TestClass {
+            }
+            """
+          )
+        );
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.openapi.swagger.table.SwaggerRecipeMetrics;
+import org.openrewrite.openapi.swagger.table.SwaggerRecipeMetricsSummary;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+class SwaggerMetricsTest implements RewriteTest {
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipeFromResources("org.openrewrite.openapi.swagger.MigrateApiResponsesToApiResponses")
+          .parser(JavaParser.fromJavaVersion().classpath("swagger-annotations-1.+", "swagger-annotations-2.+"));
+    }
+
+    //language=java
+    private static final String BEFORE = """
+      import io.swagger.annotations.ApiResponse;
+      
+      class A {
+          @ApiResponse(code = 200, message = "OK")
+          void method() {}
+      }
+      """;
+
+    //language=java
+    private static final String AFTER = """
+      import io.swagger.v3.oas.annotations.responses.ApiResponse;
+      
+      class A {
+          @ApiResponse(responseCode = "200", description = "OK")
+          void method() {}
+      }
+      """;
+
+    @Test
+    void recordsMetricsWhenEnabled() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SwaggerRecipeMetrics.Row> listened = new ArrayList<>();
+        SwaggerMetrics.enable(ctx, listened::add);
+
+        rewriteRun(
+          spec -> spec.executionContext(ctx)
+            .cycles(1)
+            .expectedCyclesThatMakeChanges(1)
+            .afterRecipe(run -> {
+                // The recipe list also has ConvertApiResponseContainerToContent, which records rows in its own table
+                List<Object> rows = run.getDataTables().entrySet().stream()
+                  .filter(table -> table.getKey() instanceof SwaggerRecipeMetrics)
+                  .flatMap(table -> table.getValue().stream())
+                  .collect(Collectors.toList());
+                assertThat(rows).containsExactlyInAnyOrderElementsOf(listened);
+                assertThat(listened)
+                  .filteredOn(row -> row.getRecipe().equals(ConvertApiResponseCodesToStrings.class.getName()))
+                  .singleElement().satisfies(row -> {
+                      assertThat(row.getSourcePath()).isEqualTo("A.java");
+                      assertThat(row.isChanged()).isTrue();
+                      assertThat(row.getAnnotationsMatched()).isEqualTo(1);
+                      assertThat(row.getAnnotationsRewritten()).isEqualTo(1);
+                      assertThat(row.getTemplateApplications()).isZero();
+                      assertThat(row.getNodesVisited()).isPositive();
+                      assertThat(row.getVisitTimeNanos()).isPositive();
+                  });
+            }),
+          java(BEFORE, AFTER)
+        );
+    }
+
+    @Test
+    void summarizesPerRecipe() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SwaggerRecipeMetrics.Row> listened = new ArrayList<>();
+        SwaggerMetrics.enable(ctx, listened::add);
+
+        rewriteRun(
+          spec -> spec.executionContext(ctx)
+            .cycles(1)
+            .expectedCyclesThatMakeChanges(1)
+            .afterRecipe(run -> {
+                List<SwaggerRecipeMetricsSummary.Row> summary = SwaggerMetrics.summarize(ctx);
+                assertThat(summary)
+                  .extracting(SwaggerRecipeMetricsSummary.Row::getRecipe)
+                  .containsExactly(ConvertApiResponseCodesToStrings.class.getName(), ConvertApiResponseContainerToContent.class.getName());
+                SwaggerRecipeMetrics.Row visit = listened.stream()
+                  .filter(row -> row.getRecipe().equals(ConvertApiResponseCodesToStrings.class.getName()))
+                  .findFirst().orElseThrow();
+                assertThat(summary.get(0)).satisfies(row -> {
+                    assertThat(row.getSourceFiles()).isEqualTo(1);
+                    assertThat(row.getSourceFilesChanged()).isEqualTo(1);
+                    assertThat(row.getAnnotationsMatched()).isEqualTo(1);
+                    assertThat(row.getAnnotationsRewritten()).isEqualTo(1);
+                    assertThat(row.getNodesVisited()).isEqualTo(visit.getNodesVisited());
+                    assertThat(row.getVisitTimeTotalNanos()).isEqualTo(visit.getVisitTimeNanos());
+                    assertThat(row.getVisitTimeP50Nanos()).isEqualTo(visit.getVisitTimeNanos());
+                    assertThat(row.getVisitTimeP99Nanos()).isEqualTo(visit.getVisitTimeNanos());
+                    assertThat(row.getVisitTimeMaxNanos()).isEqualTo(visit.getVisitTimeNanos());
+                });
+                assertThat(run.<SwaggerRecipeMetricsSummary.Row>getDataTableRows(new SwaggerRecipeMetricsSummary(Recipe.noop()).getName()))
+                  .containsExactlyElementsOf(summary);
+
+                // Each summary covers the source files visited since the one before
+                assertThat(SwaggerMetrics.summarize(ctx)).isEmpty();
+            }),
+          java(BEFORE, AFTER)
+        );
+    }
+
+    @Test
+    void noMetricsByDefault() {
+        rewriteRun(
+          spec -> spec.afterRecipe(run -> assertThat(run.getDataTable(SwaggerRecipeMetrics.class.getName())).isNull()),
+          java(BEFORE, AFTER)
+        );
+    }
+}
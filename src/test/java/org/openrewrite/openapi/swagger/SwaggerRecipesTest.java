@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+import org.openrewrite.config.Environment;
+import org.openrewrite.config.OptionDescriptor;
+import org.openrewrite.config.RecipeDescriptor;
+
+import java.util.*;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SwaggerRecipesTest {
+
+    @Test
+    void sameDescriptorsAsDeclarativeRecipes() {
+        Environment env = Environment.builder()
+          .scanRuntimeClasspath("org.openrewrite.openapi.swagger")
+          .build();
+        for (Recipe recipe : SwaggerRecipes.all()) {
+            assertThat(descriptor(recipe.getDescriptor()))
+              .as(recipe.getName())
+              .isEqualTo(descriptor(env.activateRecipes(recipe.getName()).getDescriptor()));
+        }
+    }
+
+    @Test
+    void declaresAllDeclarativeRecipes() {
+        List<String> declarative = Environment.builder()
+          .scanRuntimeClasspath("org.openrewrite.openapi.swagger")
+          .build()
+          .listRecipeDescriptors().stream()
+          .filter(descriptor -> descriptor.getSource().toString().endsWith("swagger-2.yml"))
+          .map(RecipeDescriptor::getName)
+          .collect(toList());
+
+        assertThat(SwaggerRecipes.all()).extracting(Recipe::getName).containsExactlyInAnyOrderElementsOf(declarative);
+    }
+
+    /**
+     * The parts of a descriptor that define what a recipe does and how it is presented, leaving out where it was
+     * loaded from.
+     */
+    private static Map<String, Object> descriptor(RecipeDescriptor descriptor) {
+        Map<String, Object> described = new LinkedHashMap<>();
+        described.put("name", descriptor.getName());
+        described.put("displayName", descriptor.getDisplayName());
+        described.put("description", descriptor.getDescription());
+        described.put("tags", new TreeSet<>(descriptor.getTags()));
+        Map<String, Object> options = new TreeMap<>();
+        for (OptionDescriptor option : descriptor.getOptions()) {
+            if (option.getValue() != null) {
+                options.put(option.getName(), option.getValue());
+            }
+        }
+        described.put("options", options);
+        described.put("recipeList", descriptor.getRecipeList().stream().map(SwaggerRecipesTest::descriptor).collect(toList()));
+        return described;
+    }
+}
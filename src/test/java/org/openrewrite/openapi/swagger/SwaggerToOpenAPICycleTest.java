@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.table.SourcesFileResults;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts that {@code SwaggerToOpenAPI} makes all of its changes in its first cycle, so running it never takes a
+ * second pass over the repository. The recipe is run with a second cycle forced, over a
+ * {@link SwaggerCorpusGenerator generated} code base, and the changes are counted per cycle.
+ */
+class SwaggerToOpenAPICycleTest {
+
+    @Test
+    void convergesInOneCycle() {
+        Recipe recipe = Environment.builder()
+          .scanRuntimeClasspath("org.openrewrite.openapi.swagger")
+          .build()
+          .activateRecipes("org.openrewrite.openapi.swagger.SwaggerToOpenAPI");
+
+        List<SwaggerCorpusGenerator.GeneratedSource> sources = SwaggerCorpusGenerator.ofSize(42, 200).generate();
+        long swaggerFiles = sources.stream()
+          .filter(source -> source.getContent().contains("import io.swagger.annotations."))
+          .count();
+
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion()
+          .classpath("swagger-annotations-1.+", "swagger-annotations-2.+")
+          .build()
+          .parse(ctx, SwaggerCorpusGenerator.contents(sources))
+          .collect(Collectors.toList());
+        RecipeRun run = recipe.run(new InMemoryLargeSourceSet(sourceFiles), ctx, 3, 2);
+
+        List<SourcesFileResults.Row> rows = run.getDataTableRows(SourcesFileResults.class.getName());
+        Map<Integer, Long> filesChangedPerCycle = rows.stream()
+          .collect(Collectors.groupingBy(SourcesFileResults.Row::getCycle,
+            Collectors.collectingAndThen(Collectors.mapping(SourcesFileResults.Row::getSourcePath, Collectors.toSet()),
+              changed -> (long) changed.size())));
+
+        assertThat(filesChangedPerCycle).isEqualTo(singletonMap(1, swaggerFiles));
+        assertThat(run.getChangeset().getAllResults()).hasSize((int) swaggerFiles);
+    }
+}
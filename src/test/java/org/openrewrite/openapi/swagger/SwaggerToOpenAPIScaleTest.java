@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@code SwaggerToOpenAPI} end to end over {@link SwaggerCorpusGenerator generated} code bases and appends
+ * wall time, peak heap and files changed per size to `build/scale/swagger-to-openapi.csv`, so scaling curves can
+ * be compared across releases. Sizes default to a small corpus and can be set with
+ * `-Dswagger.scale.files=1000,10000,100000`.
+ */
+class SwaggerToOpenAPIScaleTest {
+    private static final long SEED = 42;
+
+    @Test
+    void migrateGeneratedCorpus() throws IOException {
+        Recipe recipe = Environment.builder()
+          .scanRuntimeClasspath("org.openrewrite.openapi.swagger")
+          .build()
+          .activateRecipes("org.openrewrite.openapi.swagger.SwaggerToOpenAPI");
+
+        for (String size : System.getProperty("swagger.scale.files", "200").split(",")) {
+            int files = Integer.parseInt(size.trim());
+            SwaggerCorpusGenerator generator = SwaggerCorpusGenerator.ofSize(SEED, files);
+            List<SwaggerCorpusGenerator.GeneratedSource> sources = generator.generate();
+            long swaggerFiles = sources.stream()
+              .filter(source -> source.getContent().contains("import io.swagger.annotations."))
+              .count();
+
+            System.gc();
+            resetPeakHeap();
+            long start = System.nanoTime();
+
+            ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+            List<SourceFile> sourceFiles = JavaParser.fromJavaVersion()
+              .classpath("swagger-annotations-1.+", "swagger-annotations-2.+")
+              .build()
+              .parse(ctx, SwaggerCorpusGenerator.contents(sources))
+              .collect(Collectors.toList());
+            long parsed = System.nanoTime();
+            List<Result> results = recipe.run(new InMemoryLargeSourceSet(sourceFiles), ctx).getChangeset().getAllResults();
+            long migrated = System.nanoTime();
+
+            String row = record(sources.size(), (parsed - start) / 1_000_000, (migrated - parsed) / 1_000_000,
+              peakHeap(), results.size());
+
+            assertThat(results).as("SwaggerToOpenAPI scale: %s", row).hasSize((int) swaggerFiles);
+            assertThat(results).as("SwaggerToOpenAPI scale: %s", row).allSatisfy(result ->
+              assertThat(result.getAfter().printAll()).doesNotContain("io.swagger.annotations."));
+        }
+    }
+
+    /**
+     * Appends a row to the CSV file and returns it, without its line break, to describe the assertions on that size.
+     */
+    private static String record(int files, long parseMillis, long recipeMillis, long peakHeapBytes, int filesChanged) throws IOException {
+        Path csv = Paths.get("build", "scale", "swagger-to-openapi.csv");
+        Files.createDirectories(csv.getParent());
+        if (!Files.exists(csv)) {
+            Files.write(csv, "files,parseMillis,recipeMillis,peakHeapBytes,filesChanged\n".getBytes(StandardCharsets.UTF_8));
+        }
+        String row = String.join(",", Arrays.asList(String.valueOf(files), String.valueOf(parseMillis),
+          String.valueOf(recipeMillis), String.valueOf(peakHeapBytes), String.valueOf(filesChanged)));
+        Files.write(csv, (row + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        return row;
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
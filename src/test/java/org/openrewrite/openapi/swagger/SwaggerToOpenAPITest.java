@@ -16,9 +16,14 @@
 package org.openrewrite.openapi.swagger;
 
 import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
 import org.openrewrite.java.JavaParser;
 import org.openrewrite.test.RecipeSpec;
 import org.openrewrite.test.RewriteTest;
+import org.openrewrite.test.TypeValidation;
+
+import static org.openrewrite.java.Assertions.java;
 
 class SwaggerToOpenAPITest implements RewriteTest {
     @Override
@@ -33,4 +38,113 @@ class SwaggerToOpenAPITest implements RewriteTest {
           spec-> spec.printRecipe(() -> System.out::println)
         );
     }
+
+    //language=java
+    private static final String CONTROLLER = """
+      import io.swagger.annotations.ApiOperation;
+      import io.swagger.annotations.ApiResponse;
+      
+      class A {
+          @ApiOperation(value = "Find pets", nickname = "findPets")
+          @ApiResponse(code = 200, message = "OK")
+          void method() {}
+      }
+      """;
+
+    //language=java
+    private static final String MIGRATED_CONTROLLER = """
+      import io.swagger.v3.oas.annotations.Operation;
+      import io.swagger.v3.oas.annotations.responses.ApiResponse;
+      
+      class A {
+          @Operation(summary = "Find pets")
+          @ApiResponse(responseCode = "200", description = "OK")
+          void method() {}
+      }
+      """;
+
+    @Test
+    void migrateController() {
+        rewriteRun(
+          java(CONTROLLER, MIGRATED_CONTROLLER),
+          //language=java
+          java(
+            """
+              class NoSwagger {
+                  void method() {}
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void reuseExecutionContextForALaterRun() {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        rewriteRun(
+          spec -> spec.executionContext(ctx),
+          java(CONTROLLER, MIGRATED_CONTROLLER)
+        );
+        rewriteRun(
+          spec -> spec.recipe(new MigrateSwaggerAnnotations()).executionContext(ctx),
+          //language=java
+          java(
+            """
+              import io.swagger.annotations.ApiOperation;
+              
+              class B {
+                  @ApiOperation(value = "Find pets", nickname = "findPets")
+                  void method() {}
+              }
+              """,
+            """
+              import io.swagger.v3.oas.annotations.Operation;
+              
+              class B {
+                  @Operation(summary = "Find pets")
+                  void method() {}
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void migrateControllerWithoutClasspath() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion())
+            .typeValidationOptions(TypeValidation.none()),
+          java(CONTROLLER, MIGRATED_CONTROLLER)
+        );
+    }
+
+    @Test
+    void migrateStarImportedResponsesWithoutClasspath() {
+        rewriteRun(
+          spec -> spec.parser(JavaParser.fromJavaVersion())
+            .typeValidationOptions(TypeValidation.none()),
+          //language=java
+          java(
+            """
+              import io.swagger.annotations.*;
+              
+              class A {
+                  @ApiResponses(value = {
+                      @ApiResponse(code = 200, message = "OK", response = Pet.class, responseContainer = "List")})
+                  void method() {}
+              }
+              """,
+            """
+              import io.swagger.v3.oas.annotations.responses.ApiResponse;
+              import io.swagger.v3.oas.annotations.responses.ApiResponses;
+              
+              class A {
+                  @ApiResponses(value = {
+                      @ApiResponse(content = @io.swagger.v3.oas.annotations.media.Content(array = @io.swagger.v3.oas.annotations.media.ArraySchema(uniqueItems = false, schema = @io.swagger.v3.oas.annotations.media.Schema(implementation = Pet.class))), responseCode = "200", description = "OK")})
+                  void method() {}
+              }
+              """
+          )
+        );
+    }
 }
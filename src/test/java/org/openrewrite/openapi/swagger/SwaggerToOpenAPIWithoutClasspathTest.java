@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@code SwaggerToOpenAPI} over a {@link SwaggerCorpusGenerator generated} code base parsed with and without the
+ * Swagger annotations on the classpath, and asserts both migrate every file to the same source.
+ */
+class SwaggerToOpenAPIWithoutClasspathTest {
+
+    @Test
+    void sameOutputWithoutClasspath() {
+        Recipe recipe = Environment.builder()
+          .scanRuntimeClasspath("org.openrewrite.openapi.swagger")
+          .build()
+          .activateRecipes("org.openrewrite.openapi.swagger.SwaggerToOpenAPI");
+        String[] sources = SwaggerCorpusGenerator.contents(SwaggerCorpusGenerator.ofSize(42, 200).generate());
+
+        Map<String, String> attributed = migrate(recipe,
+          JavaParser.fromJavaVersion().classpath("swagger-annotations-1.+", "swagger-annotations-2.+"), sources);
+        Map<String, String> unattributed = migrate(recipe, JavaParser.fromJavaVersion(), sources);
+
+        assertThat(attributed).isNotEmpty();
+        assertThat(unattributed).isEqualTo(attributed);
+    }
+
+    private static Map<String, String> migrate(Recipe recipe, JavaParser.Builder<?, ?> parser, String[] sources) {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sourceFiles = parser.build().parse(ctx, sources).collect(Collectors.toList());
+        return recipe.run(new InMemoryLargeSourceSet(sourceFiles), ctx).getChangeset().getAllResults().stream()
+          .collect(Collectors.toMap(result -> result.getAfter().getSourcePath().toString(), result -> result.getAfter().printAll()));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.maven.MavenExecutionContextView;
+import org.openrewrite.maven.cache.MavenPomCache;
+import org.openrewrite.maven.tree.MavenResolutionResult;
+import org.openrewrite.maven.tree.Scope;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.gradle.Assertions.buildGradle;
+import static org.openrewrite.gradle.toolingapi.Assertions.withToolingApi;
+import static org.openrewrite.maven.Assertions.pomXml;
+
+class UpgradeSwaggerDependencyTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new UpgradeSwaggerDependency(null));
+    }
+
+    @DocumentExample
+    @Test
+    void addToMavenPom() {
+        rewriteRun(
+          //language=xml
+          pomXml(
+            """
+              <project>
+                  <groupId>com.acme</groupId>
+                  <artifactId>petstore</artifactId>
+                  <version>1.0.0</version>
+              </project>
+              """,
+            """
+              <project>
+                  <groupId>com.acme</groupId>
+                  <artifactId>petstore</artifactId>
+                  <version>1.0.0</version>
+                  <dependencies>
+                      <dependency>
+                          <groupId>io.swagger.core.v3</groupId>
+                          <artifactId>swagger-core</artifactId>
+                          <version>2.1.6</version>
+                      </dependency>
+                  </dependencies>
+              </project>
+              """
+          )
+        );
+    }
+
+    @Test
+    void addToGradleBuild() {
+        rewriteRun(
+          spec -> spec.beforeRecipe(withToolingApi()),
+          //language=groovy
+          buildGradle(
+            """
+              plugins {
+                  id "java-library"
+              }
+
+              repositories {
+                  mavenCentral()
+              }
+              """,
+            """
+              plugins {
+                  id "java-library"
+              }
+
+              repositories {
+                  mavenCentral()
+              }
+
+              dependencies {
+                  implementation "io.swagger.core.v3:swagger-core:2.1.6"
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void resolveFromLocalRepositoryOnly(@TempDir Path repository) throws IOException {
+        Path pom = repository.resolve("io/swagger/core/v3/swagger-core/2.1.6/swagger-core-2.1.6.pom");
+        Files.createDirectories(pom.getParent());
+        //language=xml
+        Files.write(pom, """
+          <project>
+              <groupId>io.swagger.core.v3</groupId>
+              <artifactId>swagger-core</artifactId>
+              <version>2.1.6</version>
+          </project>
+          """.getBytes());
+        // A POM in a local repository only counts if the artifact is there as well
+        Files.write(pom.resolveSibling("swagger-core-2.1.6.jar"), new byte[]{'P', 'K', 5, 6});
+
+        rewriteRun(
+          spec -> spec.recipe(new UpgradeSwaggerDependency(repository.toString()))
+            .afterRecipe(run -> assertThat(run.getChangeset().getAllResults()).singleElement()
+              .satisfies(result -> assertThat(result.getAfter().getMarkers().findFirst(MavenResolutionResult.class))
+                .hasValueSatisfying(resolution -> assertThat(resolution.getDependencies().get(Scope.Compile))
+                  .singleElement()
+                  .satisfies(swaggerCore -> assertThat(swaggerCore.getRepository().getUri())
+                    .isEqualTo(repository.toUri().toString()))))),
+          //language=xml
+          pomXml(
+            """
+              <project>
+                  <groupId>com.acme</groupId>
+                  <artifactId>petstore</artifactId>
+                  <version>1.0.0</version>
+              </project>
+              """,
+            """
+              <project>
+                  <groupId>com.acme</groupId>
+                  <artifactId>petstore</artifactId>
+                  <version>1.0.0</version>
+                  <dependencies>
+                      <dependency>
+                          <groupId>io.swagger.core.v3</groupId>
+                          <artifactId>swagger-core</artifactId>
+                          <version>2.1.6</version>
+                      </dependency>
+                  </dependencies>
+              </project>
+              """
+          )
+        );
+    }
+
+    @Test
+    void leaveResolutionOfOtherRecipesAlone(@TempDir Path repository) {
+        ExecutionContext ctx = new InMemoryExecutionContext();
+        MavenExecutionContextView maven = MavenExecutionContextView.view(ctx);
+        MavenPomCache configured = maven.getPomCache();
+
+        new UpgradeSwaggerDependency(repository.toString()).getInitialValue(ctx);
+
+        assertThat(maven.getPomCache()).isSameAs(configured);
+        assertThat(maven.getRepositories()).isEmpty();
+        assertThat(maven.getAddCentralRepository()).isNotEqualTo(false);
+        assertThat(maven.getAddLocalRepository()).isNotEqualTo(false);
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2024 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.openapi.swagger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a synthetic, Swagger 1.x annotated code base for scale tests and benchmarks.
+ * <p>
+ * The corpus is made of `@Api` controllers with `@ApiOperation`, `@ApiResponses` (with and without
+ * `responseContainer`), `@ApiImplicitParams` and `@ApiParam`, `@ApiModel` models with `@ApiModelProperty`
+ * fields, springfox `Docket` configurations and plain classes that don't use Swagger at all.
+ * Generation is deterministic for a given seed and configuration.
+ * <p>
+ * With {@link #nonLiteralResponses(boolean)}, two in three `@ApiResponse`s with a `response` refer to their model
+ * through a `Class` constant of the model, by its simple or its fully qualified name, instead of a class literal. That
+ * is not valid Java, but it is what makes {@code ConvertApiResponseContainerToContent} fall back to its template.
+ */
+public class SwaggerCorpusGenerator {
+    private static final String[] CONTAINERS = {"List", "Set", "Map"};
+    private static final int[] CODES = {200, 201, 204, 400, 401, 403, 404, 409, 500};
+    private static final String[] HTTP_METHODS = {"GET", "POST", "PUT", "DELETE"};
+
+    private final long seed;
+    private int packages = 1;
+    private int controllers = 10;
+    private int methodsPerController = 5;
+    private int responsesPerMethod = 4;
+    private int models = 10;
+    private int plainClasses = 10;
+    private int docketConfigs = 1;
+    private boolean nonLiteralResponses;
+
+    public SwaggerCorpusGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * Generates a corpus of roughly the given number of files, in the proportions of a typical service:
+     * four controllers for every three models and three plain classes, and a springfox configuration
+     * in every package.
+     */
+    public static SwaggerCorpusGenerator ofSize(long seed, int files) {
+        int controllers = Math.max(1, files * 4 / 10);
+        int models = Math.max(1, files * 3 / 10);
+        int packages = Math.max(1, files / 100);
+        return new SwaggerCorpusGenerator(seed)
+                .packages(packages)
+                .controllers(controllers)
+                .models(models)
+                .plainClasses(Math.max(0, files - controllers - models - packages))
+                .docketConfigs(packages);
+    }
+
+    public SwaggerCorpusGenerator packages(int packages) {
+        this.packages = packages;
+        return this;
+    }
+
+    public SwaggerCorpusGenerator controllers(int controllers) {
+        this.controllers = controllers;
+        return this;
+    }
+
+    public SwaggerCorpusGenerator methodsPerController(int methodsPerController) {
+        this.methodsPerController = methodsPerController;
+        return this;
+    }
+
+    public SwaggerCorpusGenerator responsesPerMethod(int responsesPerMethod) {
+        this.responsesPerMethod = responsesPerMethod;
+        return this;
+    }
+
+    public SwaggerCorpusGenerator models(int models) {
+        this.models = models;
+        return this;
+    }
+
+    public SwaggerCorpusGenerator plainClasses(int plainClasses) {
+        this.plainClasses = plainClasses;
+        return this;
+    }
+
+    public SwaggerCorpusGenerator docketConfigs(int docketConfigs) {
+        this.docketConfigs = docketConfigs;
+        return this;
+    }
+
+    public SwaggerCorpusGenerator nonLiteralResponses(boolean nonLiteralResponses) {
+        this.nonLiteralResponses = nonLiteralResponses;
+        return this;
+    }
+
+    public List<GeneratedSource> generate() {
+        Random random = new Random(seed);
+        List<GeneratedSource> sources = new ArrayList<>(models + controllers + plainClasses + docketConfigs);
+        for (int i = 0; i < models; i++) {
+            sources.add(model(random, i));
+        }
+        for (int i = 0; i < controllers; i++) {
+            sources.add(controller(random, i));
+        }
+        for (int i = 0; i < plainClasses; i++) {
+            sources.add(plainClass(random, i));
+        }
+        for (int i = 0; i < docketConfigs; i++) {
+            sources.add(docketConfig(i));
+        }
+        return sources;
+    }
+
+    /**
+     * Writes the generated sources below the given directory, one file per class in its package directory.
+     */
+    public List<Path> writeTo(Path directory) throws IOException {
+        List<Path> written = new ArrayList<>();
+        for (GeneratedSource source : generate()) {
+            Path file = directory.resolve(source.getPath());
+            Files.createDirectories(file.getParent());
+            Files.write(file, source.getContent().getBytes(StandardCharsets.UTF_8));
+            written.add(file);
+        }
+        return written;
+    }
+
+    public static String[] contents(List<GeneratedSource> sources) {
+        String[] contents = new String[sources.size()];
+        for (int i = 0; i < sources.size(); i++) {
+            contents[i] = sources.get(i).getContent();
+        }
+        return contents;
+    }
+
+    private String packageName(int i) {
+        return "com.example.service" + (i % packages);
+    }
+
+    private GeneratedSource model(Random random, int i) {
+        String pkg = packageName(i);
+        StringBuilder source = new StringBuilder()
+                .append("package ").append(pkg).append(";\n\n")
+                .append("import io.swagger.annotations.ApiModel;\n")
+                .append("import io.swagger.annotations.ApiModelProperty;\n\n")
+                .append("import java.util.List;\n\n")
+                .append("@ApiModel(description = \"Model ").append(i).append("\")\n")
+                .append("public class Model").append(i).append(" {\n");
+        if (nonLiteralResponses) {
+            source.append("    public static final Class<Model").append(i).append("> TYPE = Model").append(i).append(".class;\n\n");
+        }
+        int fields = 2 + random.nextInt(6);
+        for (int f = 0; f < fields; f++) {
+            source.append("    @ApiModelProperty(value = \"Field ").append(f).append('"');
+            if (random.nextBoolean()) {
+                source.append(", required = true");
+            }
+            if (random.nextInt(3) == 0) {
+                source.append(", example = \"example").append(f).append('"');
+            }
+            source.append(")\n");
+            source.append(random.nextInt(4) == 0 ? "    private List<String> field" : "    private String field").append(f).append(";\n\n");
+        }
+        source.append("}\n");
+        return new GeneratedSource(path(pkg, "Model" + i), source.toString());
+    }
+
+    private GeneratedSource controller(Random random, int i) {
+        String pkg = packageName(i);
+        StringBuilder source = new StringBuilder()
+                .append("package ").append(pkg).append(";\n\n")
+                .append("import io.swagger.annotations.*;\n\n")
+                .append("import java.util.List;\n\n")
+                .append("@Api(value = \"resource").append(i).append("\", tags = \"resource").append(i).append("\")\n")
+                .append("public class Controller").append(i).append(" {\n");
+        for (int m = 0; m < methodsPerController; m++) {
+            String model = modelInPackage(random, i);
+            source.append("    @ApiOperation(value = \"Operation ").append(m).append("\", notes = \"Notes for operation ")
+                    .append(m).append('"');
+            if (random.nextBoolean()) {
+                source.append(", response = ").append(model).append(".class");
+            }
+            if (random.nextInt(3) == 0) {
+                source.append(", httpMethod = \"").append(HTTP_METHODS[random.nextInt(HTTP_METHODS.length)]).append('"');
+            }
+            source.append(", nickname = \"operation").append(m).append("\")\n");
+
+            source.append("    @ApiResponses(value = {\n");
+            for (int r = 0; r < responsesPerMethod; r++) {
+                source.append("            @ApiResponse(code = ").append(CODES[random.nextInt(CODES.length)])
+                        .append(", message = \"Response ").append(r).append('"');
+                int shape = random.nextInt(4);
+                if (shape == 0) {
+                    source.append(", response = ").append(response(random, i)).append(", responseContainer = \"")
+                            .append(CONTAINERS[random.nextInt(CONTAINERS.length)]).append('"');
+                } else if (shape == 1) {
+                    source.append(", response = ").append(response(random, i));
+                } else if (shape == 2) {
+                    source.append(", responseContainer = \"List\"");
+                }
+                source.append(r < responsesPerMethod - 1 ? "),\n" : ")\n");
+            }
+            source.append("    })\n");
+
+            if (random.nextBoolean()) {
+                source.append("    @ApiImplicitParams({\n")
+                        .append("            @ApiImplicitParam(name = \"limit\", value = \"Page size\", dataType = \"int\", paramType = \"query\"),\n")
+                        .append("            @ApiImplicitParam(name = \"offset\", value = \"Page offset\", dataType = \"int\", paramType = \"query\")\n")
+                        .append("    })\n");
+            }
+            source.append("    public ").append(model).append(" operation").append(m)
+                    .append("(@ApiParam(value = \"Identifier\", required = true) String id) {\n")
+                    .append("        ").append(model).append(" result = new ").append(model).append("();\n")
+                    .append("        if (id == null || id.isEmpty()) {\n")
+                    .append("            throw new IllegalArgumentException(\"id\");\n")
+                    .append("        }\n")
+                    .append("        return result;\n")
+                    .append("    }\n\n");
+        }
+        source.append("}\n");
+        return new GeneratedSource(path(pkg, "Controller" + i), source.toString());
+    }
+
+    private GeneratedSource plainClass(Random random, int i) {
+        String pkg = packageName(i);
+        StringBuilder source = new StringBuilder()
+                .append("package ").append(pkg).append(";\n\n")
+                .append("import java.util.ArrayList;\n")
+                .append("import java.util.List;\n\n")
+                .append("public class Service").append(i).append(" {\n")
+                .append("    private final List<String> items = new ArrayList<>();\n\n");
+        int methods = 1 + random.nextInt(5);
+        for (int m = 0; m < methods; m++) {
+            source.append("    public int process").append(m).append("(String input) {\n")
+                    .append("        int total = 0;\n")
+                    .append("        for (int j = 0; j < input.length(); j++) {\n")
+                    .append("            if (Character.isDigit(input.charAt(j))) {\n")
+                    .append("                total += input.charAt(j) - '0';\n")
+                    .append("            } else {\n")
+                    .append("                items.add(String.valueOf(input.charAt(j)));\n")
+                    .append("            }\n")
+                    .append("        }\n")
+                    .append("        return total * ").append(1 + random.nextInt(9)).append(";\n")
+                    .append("    }\n\n");
+        }
+        source.append("}\n");
+        return new GeneratedSource(path(pkg, "Service" + i), source.toString());
+    }
+
+    private GeneratedSource docketConfig(int i) {
+        String pkg = packageName(i);
+        String source = "package " + pkg + ";\n\n" +
+                        "import springfox.documentation.builders.PathSelectors;\n" +
+                        "import springfox.documentation.builders.RequestHandlerSelectors;\n" +
+                        "import springfox.documentation.spi.DocumentationType;\n" +
+                        "import springfox.documentation.spring.web.plugins.Docket;\n\n" +
+                        "public class SwaggerConfig" + i + " {\n" +
+                        "    public Docket api() {\n" +
+                        "        return new Docket(DocumentationType.SWAGGER_2)\n" +
+                        "                .select()\n" +
+                        "                .apis(RequestHandlerSelectors.basePackage(\"" + pkg + "\"))\n" +
+                        "                .paths(PathSelectors.any())\n" +
+                        "                .build();\n" +
+                        "    }\n" +
+                        "}\n";
+        return new GeneratedSource(path(pkg, "SwaggerConfig" + i), source);
+    }
+
+    /**
+     * A model from the same package as the controller, so the reference resolves when the corpus is parsed together.
+     */
+    private String modelInPackage(Random random, int controller) {
+        int perPackage = Math.max(1, models / packages);
+        int model = (random.nextInt(perPackage) * packages) + (controller % packages);
+        return "Model" + Math.min(model, models - 1);
+    }
+
+    /**
+     * The `response` of an `@ApiResponse`: a class literal, or with {@link #nonLiteralResponses(boolean)} also the
+     * `TYPE` constant of the model, by its simple or fully qualified name.
+     */
+    private String response(Random random, int controller) {
+        String model = modelInPackage(random, controller);
+        if (nonLiteralResponses) {
+            int form = random.nextInt(3);
+            if (form == 1) {
+                return model + ".TYPE";
+            } else if (form == 2) {
+                return packageName(controller) + "." + model + ".TYPE";
+            }
+        }
+        return model + ".class";
+    }
+
+    private static String path(String pkg, String className) {
+        return Paths.get(pkg.replace('.', '/'), className + ".java").toString();
+    }
+
+    public static final class GeneratedSource {
+        private final String path;
+        private final String content;
+
+        GeneratedSource(String path, String content) {
+            this.path = path;
+            this.content = content;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getContent() {
+            return content;
+        }
+    }
+}